@@ -0,0 +1,42 @@
+package CreationalPatternsCourse.Builder;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserWebDTOBuilderBenchmark {
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setBirthday(LocalDate.of(1960, 5, 6));
+        user.setFirstName("Ron");
+        user.setLastName("Swanson");
+
+        Address address = new Address();
+        address.setHouseNumber("100");
+        address.setStreet("State Street");
+        address.setCity("Pawnee");
+        address.setState("Indiana");
+        address.setZipcode("47998");
+        user.setAddress(address);
+    }
+
+    @Benchmark
+    public UserDTO build() {
+        return new UserWebDTOBuilder()
+                .withFirstName(user.getFirstName())
+                .withLastName(user.getLastName())
+                .withBirthday(user.getBirthday())
+                .withAddress(user.getAddress())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PostFactoryBenchmark {
+    @Param({"blog", "news", "product"})
+    String type;
+
+    private Class<? extends Post> clazz;
+    private PostType<?> token;
+
+    @Setup
+    public void setUp() {
+        token = PostType.named(type);
+        clazz = token.postClass();
+    }
+
+    @Benchmark
+    public Post byName() {
+        return PostFactory.createPost(type);
+    }
+
+    @Benchmark
+    public Post byClass() {
+        return GenericPostFactory.createPost(clazz);
+    }
+
+    @Benchmark
+    public Post byToken() {
+        return PostRegistry.getDefault().createPost(token);
+    }
+}
@@ -0,0 +1,70 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of the ingestion pipeline with 1, 4 and all cores ({@code 0}).
+ * Each invocation turns {@link #RECORDS} feed records into posts.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostIngestionPipelineBenchmark {
+    static final int RECORDS = 100_000;
+
+    @Param({"1", "4", "0"})
+    int parallelism;
+
+    List<FeedRecord> records;
+    PostIngestionPipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            String id = Integer.toString(i);
+            records.add(switch (i % 3) {
+                case 0 -> new FeedRecord("blog", Map.of("id", id, "title", "Contenido de mi blog",
+                        "author", "victor", "tags", "uno,dos,tres", "createdOn", "2024-05-06T10:15:30"));
+                case 1 -> new FeedRecord("news", Map.of("id", id, "headline", "Noticia",
+                        "newsTime", "2024-05-06"));
+                default -> new FeedRecord("product", Map.of("id", id, "name", "Café",
+                        "imageUrl", "https://example.com/cafe.png"));
+            });
+        }
+        pipeline = new PostIngestionPipeline.Builder()
+                .parallelism(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public long ingest() throws InterruptedException {
+        LongAdder posts = new LongAdder();
+        pipeline.ingest(records.iterator(), batch -> posts.add(batch.size()));
+        return posts.sum();
+    }
+
+    @Benchmark
+    public long sequentialFactory() {
+        long posts = 0;
+        for (FeedRecord record : records) {
+            if (pipeline.toPost(record) != null)
+                posts++;
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,45 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NutritionFactsBenchmark {
+    int servingSize = 240;
+    int servings = 8;
+    NutritionFactsCache cache = new NutritionFactsCache(1024);
+
+    @Benchmark
+    public NutritionFacts build() {
+        return new NutritionFacts.Builder(servingSize, servings)
+                .calories(100)
+                .sodium(35)
+                .carbohydrate(27)
+                .build();
+    }
+
+    @Benchmark
+    public NutritionFacts pooledBuilder() {
+        return BuilderPool.nutritionFacts(servingSize, servings)
+                .calories(100)
+                .sodium(35)
+                .carbohydrate(27)
+                .build();
+    }
+
+    @Benchmark
+    public NutritionFacts cachedBuild() {
+        return BuilderPool.nutritionFacts(servingSize, servings)
+                .calories(100)
+                .sodium(35)
+                .carbohydrate(27)
+                .cache(cache)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NutritionFactsTableBenchmark {
+    @Param({"100000", "1000000"})
+    int rows;
+
+    List<NutritionFacts> objects;
+    NutritionFactsTable table;
+
+    @Setup
+    public void setup() {
+        objects = new ArrayList<>(rows);
+        table = new NutritionFactsTable(rows);
+        for (int i = 0; i < rows; i++) {
+            NutritionFacts.Builder builder = new NutritionFacts.Builder(240, 8)
+                    .calories(i % 500)
+                    .fat(i % 30)
+                    .sodium(i % 1000);
+            objects.add(builder.build());
+            table.add(builder);
+        }
+    }
+
+    @Benchmark
+    public long sumCaloriesObjects() {
+        long sum = 0;
+        for (NutritionFacts facts : objects)
+            sum += facts.getCalories();
+        return sum;
+    }
+
+    @Benchmark
+    public long sumCaloriesColumnar() {
+        return table.sum(NutritionFactsTable.Column.CALORIES);
+    }
+
+    @Benchmark
+    public int countLowSodiumColumnar() {
+        return table.count(NutritionFactsTable.Column.SODIUM, 0, 140);
+    }
+}
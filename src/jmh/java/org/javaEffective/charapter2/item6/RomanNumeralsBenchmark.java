@@ -0,0 +1,34 @@
+package org.javaEffective.charapter2.item6;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RomanNumeralsBenchmark {
+    @Param({"XIV", "MCMLXXVI", "MMMDCCCLXXXVIII", "IIII"})
+    String numeral;
+
+    // Pattern compilado una sola vez (Item 6)
+    @Benchmark
+    public boolean cachedPattern() {
+        return RomanNumerals.isRomanNumeral(numeral);
+    }
+
+    // String.matches compila el Pattern en cada llamada
+    @Benchmark
+    public boolean stringMatches() {
+        return isRomanNumeralNo.isRomanNumeral(numeral);
+    }
+
+    // Máquina de estados sin retroceso ni Matcher
+    @Benchmark
+    public boolean stateMachine() {
+        return RomanNumeralParser.isRomanNumeral(numeral);
+    }
+}
@@ -0,0 +1,54 @@
+package org.javaEffective.charapter2.item7;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contención: cada hilo hace push seguido de pop sobre una pila compartida.
+ * Ejecutar con {@code main} para recorrer 1..64 hilos, ya que JMH solo acepta
+ * un valor de {@code -t} por ejecución.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentStackBenchmark {
+    private final Object element = new Object();
+    private ConcurrentStack<Object> concurrentStack;
+    private Stack synchronizedStack;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        concurrentStack = new ConcurrentStack<>();
+        synchronizedStack = new Stack();
+    }
+
+    @Benchmark
+    public Object treiber() {
+        concurrentStack.push(element);
+        return concurrentStack.pop();
+    }
+
+    @Benchmark
+    public Object synchronizedStack() {
+        synchronized (synchronizedStack) {
+            synchronizedStack.push(element);
+            return synchronizedStack.pop();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(ConcurrentStackBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.javaEffective.charapter2.item7;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+    @Param({"16", "1024"})
+    int depth;
+
+    private final Object element = new Object();
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void pushPop(Blackhole bh) {
+        // el stack se crea por invocación para medir también el crecimiento del arreglo
+        Stack stack = new Stack();
+        for (int i = 0; i < 1024; i++) {
+            if (stack.getSize() == depth) {
+                bh.consume(stack.pop());
+            }
+            stack.push(element);
+        }
+        bh.consume(stack);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void intPushPop(Blackhole bh) {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < 1024; i++) {
+            if (stack.getSize() == depth) {
+                bh.consume(stack.pop());
+            }
+            stack.push(i);
+        }
+        bh.consume(stack);
+    }
+}
@@ -0,0 +1,64 @@
+package org.javaEffective.charapter3.item10;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CaseInsensitiveMapBenchmark {
+    @Param({"64", "100000"})
+    int size;
+
+    private String[] lookups;
+    private CaseInsensitiveMap<Integer> openAddressing;
+    private Map<CaseInsensitiveString, Integer> hashMap;
+    private TreeMap<String, Integer> treeMap;
+
+    @Setup
+    public void setUp() {
+        openAddressing = new CaseInsensitiveMap<>(size);
+        hashMap = new HashMap<>();
+        treeMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        lookups = new String[1024];
+        for (int i = 0; i < size; i++) {
+            String key = "X-Header-" + i;
+            openAddressing.put(key, i);
+            hashMap.put(new CaseInsensitiveString(key), i);
+            treeMap.put(key, i);
+        }
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = ("x-header-" + (i * 31 % size)).toUpperCase();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void caseInsensitiveMap(Blackhole bh) {
+        for (String key : lookups)
+            bh.consume(openAddressing.get(key));
+    }
+
+    // Cada consulta envuelve la clave en un CaseInsensitiveString nuevo
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void hashMapOfCaseInsensitiveString(Blackhole bh) {
+        for (String key : lookups)
+            bh.consume(hashMap.get(new CaseInsensitiveString(key)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void treeMapCaseInsensitiveOrder(Blackhole bh) {
+        for (String key : lookups)
+            bh.consume(treeMap.get(key));
+    }
+}
@@ -0,0 +1,19 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Raw record read from a feed: the post type name (see {@link PostType}) and its
+ * fields as text, e.g. {@code title}, {@code author} or {@code newsTime}.
+ */
+public record FeedRecord(String type, Map<String, String> fields) {
+    public FeedRecord {
+        Objects.requireNonNull(type);
+        fields = Map.copyOf(fields);
+    }
+
+    public String field(String name) {
+        return fields.get(name);
+    }
+}
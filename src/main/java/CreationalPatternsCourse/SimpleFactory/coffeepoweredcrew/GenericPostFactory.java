@@ -6,12 +6,11 @@ package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
  *
  */
 public class GenericPostFactory {
+    /**
+     * Dispatches on the class itself through {@link PostRegistry#getDefault()};
+     * no class name is computed per call.
+     */
     public static <T extends Post> T createPost(Class<T> clazz) {
-        return switch (clazz.getSimpleName()) {
-            case "BlogPost" -> (T) new BlogPost();
-            case "NewsPost" -> (T) new NewsPost();
-            case "ProductPost" -> (T) new ProductPost();
-            default -> throw new IllegalArgumentException("Post type is unknown");
-        };
+        return PostRegistry.getDefault().createPost(clazz);
     }
 }
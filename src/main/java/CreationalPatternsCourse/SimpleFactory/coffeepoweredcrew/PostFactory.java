@@ -6,12 +6,11 @@ package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
  *
  */
 public class PostFactory {
+    /**
+     * Types are looked up in {@link PostRegistry#getDefault()}, so new ones can be
+     * registered there instead of extending a switch.
+     */
     public static Post createPost(String type) {
-        return switch (type) {
-            case "blog" -> new BlogPost();
-            case "news" -> new NewsPost();
-            case "product" -> new ProductPost();
-            default -> throw new IllegalArgumentException("Post type is unown");
-        };
+        return PostRegistry.getDefault().createPost(type);
     }
 }
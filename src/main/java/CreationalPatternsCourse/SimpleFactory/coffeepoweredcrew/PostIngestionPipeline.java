@@ -0,0 +1,201 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Turns a stream of {@link FeedRecord}s into posts using all the cores: the
+ * calling thread reads the records and groups them into batches, and a
+ * {@link ForkJoinPool} creates each post through a {@link PostRegistry}, fills it
+ * in and hands the whole batch to a sink.
+ * <p>
+ * Backpressure: at most {@code maxInFlightBatches} batches are waiting or being
+ * processed at a time; beyond that the reading thread blocks, so a fast source
+ * cannot fill memory with pending records.
+ * <p>
+ * The sink is called from the pool threads, possibly concurrently and not in
+ * source order, so it must be thread-safe.
+ */
+public final class PostIngestionPipeline implements AutoCloseable {
+    private final PostRegistry registry;
+    private final int batchSize;
+    private final int maxInFlightBatches;
+    private final ForkJoinPool pool;
+
+    public static class Builder {
+        // Optional parameters - initialized to default values
+        private PostRegistry registry = PostRegistry.getDefault();
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 1024;
+        private int maxInFlightBatches = 0; // 0 = 2 * parallelism
+
+        public Builder registry(PostRegistry val) {
+            registry = Objects.requireNonNull(val);
+            return this;
+        }
+
+        public Builder parallelism(int val) {
+            if (val < 1)
+                throw new IllegalArgumentException("parallelism must be positive: " + val);
+            parallelism = val;
+            return this;
+        }
+
+        public Builder batchSize(int val) {
+            if (val < 1)
+                throw new IllegalArgumentException("batchSize must be positive: " + val);
+            batchSize = val;
+            return this;
+        }
+
+        public Builder maxInFlightBatches(int val) {
+            if (val < 1)
+                throw new IllegalArgumentException("maxInFlightBatches must be positive: " + val);
+            maxInFlightBatches = val;
+            return this;
+        }
+
+        public PostIngestionPipeline build() {
+            return new PostIngestionPipeline(this);
+        }
+    }
+
+    private PostIngestionPipeline(Builder builder) {
+        registry = builder.registry;
+        batchSize = builder.batchSize;
+        maxInFlightBatches = builder.maxInFlightBatches > 0 ? builder.maxInFlightBatches : 2 * builder.parallelism;
+        pool = new ForkJoinPool(builder.parallelism);
+    }
+
+    public long ingest(Stream<? extends FeedRecord> records, Consumer<? super List<Post>> sink)
+            throws InterruptedException {
+        return ingest(records.iterator(), sink);
+    }
+
+    /**
+     * Processes every record and returns once all batches have reached the sink.
+     * Even when it fails or is interrupted, it only returns once the batches
+     * already submitted have finished.
+     *
+     * @return number of posts created
+     * @throws RuntimeException      the first exception thrown by the source, while
+     *                               creating a post (for example, an unknown type) or by
+     *                               the sink, wrapped in a {@code CompletionException} if
+     *                               it is checked; the remaining records are not read
+     * @throws IllegalStateException if the pipeline is closed
+     * @throws InterruptedException  if the reading thread is interrupted while waiting
+     *                               for a batch to finish
+     */
+    public long ingest(Iterator<? extends FeedRecord> records, Consumer<? super List<Post>> sink)
+            throws InterruptedException {
+        Objects.requireNonNull(sink);
+        Semaphore inFlight = new Semaphore(maxInFlightBatches);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long count = 0;
+        try {
+            List<FeedRecord> batch = new ArrayList<>(batchSize);
+            while (records.hasNext() && failure.get() == null) {
+                batch.add(records.next());
+                if (batch.size() == batchSize) {
+                    count += submit(batch, sink, inFlight, failure);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null)
+                count += submit(batch, sink, inFlight, failure);
+        } finally {
+            // Once every permit is back, every batch has finished. The wait is short
+            // (at most maxInFlightBatches batches), so it also runs after an interrupt.
+            inFlight.acquireUninterruptibly(maxInFlightBatches);
+            inFlight.release(maxInFlightBatches);
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException e)
+            throw e;
+        if (t instanceof Error e)
+            throw e;
+        if (t != null)
+            throw new CompletionException(t); // A checked exception thrown sneakily by the sink
+        return count;
+    }
+
+    private int submit(List<FeedRecord> batch, Consumer<? super List<Post>> sink,
+                       Semaphore inFlight, AtomicReference<Throwable> failure) throws InterruptedException {
+        inFlight.acquire(); // Blocks the reader while too many batches are pending
+        try {
+            pool.execute(() -> {
+                try {
+                    List<Post> posts = new ArrayList<>(batch.size());
+                    for (FeedRecord record : batch)
+                        posts.add(toPost(record));
+                    sink.accept(posts);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The batch never runs, so its permit must come back here or ingest() waits forever
+            inFlight.release();
+            throw new IllegalStateException("pipeline is closed", e);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Creates the post for {@code record} and copies its fields through the setters.
+     */
+    public Post toPost(FeedRecord record) {
+        Post post = registry.createPost(record.type());
+        String id = record.field("id");
+        if (id != null)
+            post.setId(Long.valueOf(id));
+        post.setTitle(record.field("title"));
+        post.setContent(record.field("content"));
+        post.setCreatedOn(parseDateTime(record.field("createdOn")));
+        post.setPublishedOn(parseDateTime(record.field("publishedOn")));
+        if (post instanceof BlogPost blogPost) {
+            blogPost.setAuthor(record.field("author"));
+            String tags = record.field("tags");
+            if (tags != null)
+                blogPost.setTags(tags.split(","));
+        } else if (post instanceof NewsPost newsPost) {
+            newsPost.setHeadline(record.field("headline"));
+            String newsTime = record.field("newsTime");
+            if (newsTime != null)
+                newsPost.setNewsTime(LocalDate.parse(newsTime));
+        } else if (post instanceof ProductPost productPost) {
+            productPost.setName(record.field("name"));
+            productPost.setImageUrl(record.field("imageUrl"));
+        }
+        return post;
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        return text == null ? null : LocalDateTime.parse(text);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
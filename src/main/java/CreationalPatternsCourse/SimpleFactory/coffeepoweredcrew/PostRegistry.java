@@ -0,0 +1,89 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Factory of posts based on registrations instead of a switch: each
+ * {@link PostType} is bound to a {@link Supplier}, so a new type of post is
+ * added by calling {@link #register} without touching this class.
+ * <p>
+ * Creating a post by token is an array access plus the supplier call. By
+ * {@link Class}, the supplier is cached per class in a {@link ClassValue}, so no
+ * name has to be computed or hashed. Lookups never lock; registrations are rare
+ * and copy the supplier table.
+ */
+public final class PostRegistry {
+    private static final PostRegistry DEFAULT = withDefaults();
+
+    private final Map<Class<?>, Supplier<? extends Post>> byClass = new ConcurrentHashMap<>();
+    private final ClassValue<Supplier<? extends Post>> classCache = new ClassValue<>() {
+        @Override
+        protected Supplier<? extends Post> computeValue(Class<?> type) {
+            return byClass.get(type);
+        }
+    };
+    private volatile Supplier<?>[] suppliers = new Supplier<?>[0];
+
+    /**
+     * Registry shared by {@link PostFactory} and {@link GenericPostFactory}.
+     */
+    public static PostRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * A new registry that already knows blog, news and product posts.
+     */
+    public static PostRegistry withDefaults() {
+        PostRegistry registry = new PostRegistry();
+        registry.register(PostType.BLOG, BlogPost::new);
+        registry.register(PostType.NEWS, NewsPost::new);
+        registry.register(PostType.PRODUCT, ProductPost::new);
+        return registry;
+    }
+
+    /**
+     * Binds {@code type} to {@code supplier}, replacing any previous registration.
+     */
+    public synchronized <T extends Post> void register(PostType<T> type, Supplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier);
+        Supplier<?>[] table = suppliers;
+        if (type.index >= table.length)
+            table = Arrays.copyOf(table, Math.max(type.index + 1, table.length * 2));
+        else
+            table = table.clone();
+        table[type.index] = supplier;
+        suppliers = table;
+        byClass.put(type.postClass(), supplier);
+        classCache.remove(type.postClass());
+    }
+
+    public <T extends Post> void register(String name, Class<T> postClass, Supplier<? extends T> supplier) {
+        register(PostType.of(name, postClass), supplier);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Post> T createPost(PostType<T> type) {
+        Supplier<?>[] table = suppliers;
+        Supplier<?> supplier = type.index < table.length ? table[type.index] : null;
+        if (supplier == null)
+            throw new IllegalArgumentException("Post type is not registered: " + type);
+        return (T) supplier.get(); // register() only accepts suppliers of T
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Post> T createPost(Class<T> postClass) {
+        Supplier<? extends Post> supplier = classCache.get(postClass);
+        if (supplier == null)
+            throw new IllegalArgumentException("Post type is unknown: " + postClass.getName());
+        return (T) supplier.get();
+    }
+
+    public Post createPost(String name) {
+        return createPost(PostType.named(name));
+    }
+}
@@ -0,0 +1,340 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory store of posts with secondary indexes, so lookups by tag, author or
+ * date do not scan every post:
+ * <ul>
+ * <li>by {@code id}, in an open-addressing map keyed by primitive {@code long};</li>
+ * <li>an inverted index from each {@link BlogPost} tag to its posts;</li>
+ * <li>{@link BlogPost} author;</li>
+ * <li>sorted indexes over {@code createdOn}, {@code publishedOn} and
+ * {@link NewsPost#getNewsTime()} for range queries.</li>
+ * </ul>
+ * Any number of threads may read while one thread writes. Reads by id are
+ * optimistic: they check a version number that the writer bumps around every
+ * change and only take the read lock if a write overlapped. The other queries
+ * share the read lock of a {@link ReentrantReadWriteLock}, which, unlike
+ * {@code StampedLock}, does not let a steady stream of readers starve the writer.
+ * <p>
+ * Posts are mutable: the indexes keep the values seen by {@link #save(Post)}, so
+ * a post modified afterwards must be saved again. A post instance is stored under
+ * one id at a time, because the indexes hold the instances themselves.
+ */
+public final class PostRepository {
+    // What was indexed for a post, so it can be unindexed even if the post changed
+    private record Entry(long id, Post post, String[] tags, String author,
+                         LocalDateTime createdOn, LocalDateTime publishedOn, LocalDate newsTime) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Odd while a write is in progress
+    private volatile long version = 0;
+    private final LongEntryMap byId = new LongEntryMap();
+    private final Map<Post, Long> idByPost = new IdentityHashMap<>();
+    private final Map<String, Set<Post>> byTag = new HashMap<>();
+    private final Map<String, Set<Post>> byAuthor = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Set<Post>> byCreatedOn = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, Set<Post>> byPublishedOn = new TreeMap<>();
+    private final NavigableMap<LocalDate, Set<Post>> byNewsTime = new TreeMap<>();
+
+    /**
+     * Stores {@code post}, replacing any post with the same id.
+     *
+     * @return the replaced post, or {@code null}
+     * @throws NullPointerException     if the post has no id
+     * @throws IllegalArgumentException if this same instance is stored under another
+     *                                  id; remove it first
+     */
+    public Post save(Post post) {
+        long id = Objects.requireNonNull(post.getId(), "id");
+        String[] tags = null;
+        String author = null;
+        LocalDate newsTime = null;
+        if (post instanceof BlogPost blogPost) {
+            tags = blogPost.getTags() == null ? null : blogPost.getTags().clone();
+            author = blogPost.getAuthor();
+        } else if (post instanceof NewsPost newsPost) {
+            newsTime = newsPost.getNewsTime();
+        }
+        Entry entry = new Entry(id, post, tags, author, post.getCreatedOn(), post.getPublishedOn(), newsTime);
+
+        lock.writeLock().lock();
+        try {
+            Long storedId = idByPost.get(post);
+            if (storedId != null && storedId != id)
+                throw new IllegalArgumentException("post is already stored under id " + storedId);
+            beginWrite();
+            try {
+                Entry old = byId.put(id, entry);
+                if (old != null)
+                    unindex(old);
+                index(entry);
+                return old == null ? null : old.post();
+            } finally {
+                version++; // Even again: the change is complete
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the removed post, or {@code null}
+     */
+    public Post remove(long id) {
+        lock.writeLock().lock();
+        beginWrite();
+        try {
+            Entry old = byId.remove(id);
+            if (old == null)
+                return null;
+            unindex(old);
+            return old.post();
+        } finally {
+            version++; // Even again: the change is complete
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Post findById(long id) {
+        long before = version;
+        Entry entry = (before & 1) == 0 ? byId.get(id) : null;
+        VarHandle.acquireFence(); // The map reads must not move past the second check
+        if ((before & 1) != 0 || version != before) {
+            lock.readLock().lock();
+            try {
+                entry = byId.get(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return entry == null ? null : entry.post();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Post> findByTag(String tag) {
+        return find(byTag, tag);
+    }
+
+    public List<Post> findByAuthor(String author) {
+        return find(byAuthor, author);
+    }
+
+    /**
+     * Posts created in {@code [from, to]}, oldest first.
+     */
+    public List<Post> findCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(byCreatedOn, from, to);
+    }
+
+    /**
+     * Posts published in {@code [from, to]}, oldest first.
+     */
+    public List<Post> findPublishedBetween(LocalDateTime from, LocalDateTime to) {
+        return findBetween(byPublishedOn, from, to);
+    }
+
+    /**
+     * News whose {@code newsTime} is in {@code [from, to]}, oldest first.
+     */
+    public List<Post> findNewsBetween(LocalDate from, LocalDate to) {
+        return findBetween(byNewsTime, from, to);
+    }
+
+    private List<Post> find(Map<String, Set<Post>> index, String key) {
+        lock.readLock().lock();
+        try {
+            Set<Post> posts = index.get(key);
+            return posts == null ? List.of() : new ArrayList<>(posts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <K extends Comparable<? super K>> List<Post> findBetween(NavigableMap<K, Set<Post>> index, K from, K to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        if (from.compareTo(to) > 0)
+            return List.of();
+        lock.readLock().lock();
+        try {
+            List<Post> result = new ArrayList<>();
+            for (Set<Post> posts : index.subMap(from, true, to, true).values())
+                result.addAll(posts);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Makes the version odd before any change to the map becomes visible
+    private void beginWrite() {
+        version++;
+        VarHandle.storeStoreFence();
+    }
+
+    private void index(Entry entry) {
+        Post post = entry.post();
+        idByPost.put(post, entry.id());
+        if (entry.tags() != null)
+            for (String tag : entry.tags())
+                add(byTag, tag, post);
+        add(byAuthor, entry.author(), post);
+        add(byCreatedOn, entry.createdOn(), post);
+        add(byPublishedOn, entry.publishedOn(), post);
+        add(byNewsTime, entry.newsTime(), post);
+    }
+
+    private void unindex(Entry entry) {
+        Post post = entry.post();
+        idByPost.remove(post);
+        if (entry.tags() != null)
+            for (String tag : entry.tags())
+                remove(byTag, tag, post);
+        remove(byAuthor, entry.author(), post);
+        remove(byCreatedOn, entry.createdOn(), post);
+        remove(byPublishedOn, entry.publishedOn(), post);
+        remove(byNewsTime, entry.newsTime(), post);
+    }
+
+    private static <K> void add(Map<K, Set<Post>> index, K key, Post post) {
+        if (key != null)
+            index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(post);
+    }
+
+    private static <K> void remove(Map<K, Set<Post>> index, K key, Post post) {
+        if (key == null)
+            return;
+        Collection<Post> posts = index.get(key);
+        if (posts != null && posts.remove(post) && posts.isEmpty())
+            index.remove(key);
+    }
+
+    /**
+     * Open-addressing map from {@code long} to {@link Entry} with linear probing
+     * and backward-shift deletion, like {@code CaseInsensitiveMap}. Only the
+     * writer modifies it; {@link #get} tolerates running concurrently with a
+     * write (the caller validates the read and retries under the lock).
+     */
+    private static final class LongEntryMap {
+        private static final int MAX_LOAD_PERCENT = 60;
+
+        private long[] keys = new long[16];
+        private Entry[] values = new Entry[16];
+        private int size = 0;
+
+        Entry get(long key) {
+            long[] k = keys;
+            Entry[] v = values;
+            if (k.length != v.length)
+                return null; // Caught halfway through a resize
+            int mask = k.length - 1;
+            int i = indexFor(key, mask);
+            for (int probes = 0; probes < k.length; probes++, i = (i + 1) & mask) {
+                Entry e = v[i];
+                if (e == null)
+                    return null;
+                if (k[i] == key)
+                    return e;
+            }
+            return null;
+        }
+
+        Entry put(long key, Entry value) {
+            int mask = keys.length - 1;
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                if (values[i] == null) {
+                    keys[i] = key;
+                    values[i] = value;
+                    if (++size * 100 > keys.length * MAX_LOAD_PERCENT)
+                        resize();
+                    return null;
+                }
+                if (keys[i] == key) {
+                    Entry old = values[i];
+                    values[i] = value;
+                    return old;
+                }
+            }
+        }
+
+        Entry remove(long key) {
+            int mask = keys.length - 1;
+            for (int i = indexFor(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    Entry old = values[i];
+                    deleteSlot(i);
+                    size--;
+                    return old;
+                }
+            }
+            return null;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void deleteSlot(int hole) {
+            int mask = keys.length - 1;
+            for (int j = (hole + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = indexFor(keys[j], mask);
+                boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+                if (movable) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            values[hole] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Entry[] oldValues = values;
+            long[] newKeys = new long[oldKeys.length * 2];
+            Entry[] newValues = new Entry[oldKeys.length * 2];
+            int mask = newKeys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] == null)
+                    continue;
+                int i = indexFor(oldKeys[j], mask);
+                while (newValues[i] != null)
+                    i = (i + 1) & mask;
+                newKeys[i] = oldKeys[j];
+                newValues[i] = oldValues[j];
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        private static int indexFor(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token interned for a type of post: there is a single instance per name, so
+ * tokens can be compared by identity, and each one carries a small index that
+ * {@link PostRegistry} uses to find its supplier with an array access.
+ * <p>
+ * Tokens are global to the JVM and never released. A name is bound to its class
+ * for every registry, and each token keeps its class, and so its class loader,
+ * reachable. Tokens are meant for the fixed set of post types of the application,
+ * not for classes loaded and unloaded at run time.
+ */
+public final class PostType<T extends Post> {
+    private static final ConcurrentMap<String, PostType<?>> TOKENS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    public static final PostType<BlogPost> BLOG = of("blog", BlogPost.class);
+    public static final PostType<NewsPost> NEWS = of("news", NewsPost.class);
+    public static final PostType<ProductPost> PRODUCT = of("product", ProductPost.class);
+
+    private final String name;
+    private final Class<T> postClass;
+    final int index;
+
+    private PostType(String name, Class<T> postClass) {
+        this.name = name;
+        this.postClass = postClass;
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    /**
+     * Returns the token for {@code name}, creating it the first time. The binding
+     * from {@code name} to {@code postClass} lasts as long as the JVM.
+     *
+     * @throws IllegalArgumentException if {@code name} is already bound to another class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Post> PostType<T> of(String name, Class<T> postClass) {
+        Objects.requireNonNull(postClass);
+        PostType<?> type = TOKENS.computeIfAbsent(Objects.requireNonNull(name), n -> new PostType<>(n, postClass));
+        if (type.postClass != postClass)
+            throw new IllegalArgumentException("Post type " + name + " is already bound to " + type.postClass.getName());
+        return (PostType<T>) type;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no token has that name
+     */
+    public static PostType<?> named(String name) {
+        PostType<?> type = TOKENS.get(name);
+        if (type == null)
+            throw new IllegalArgumentException("Post type is unknown: " + name);
+        return type;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Class<T> postClass() {
+        return postClass;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
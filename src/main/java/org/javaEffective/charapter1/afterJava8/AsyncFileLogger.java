@@ -0,0 +1,223 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger de archivo asíncrono: {@link #log(String)} solo encola el mensaje en un
+ * {@link MpscRingBuffer} y un único hilo escritor lo codifica en UTF-8 y lo
+ * escribe por lotes grandes en un {@link FileChannel}. Si la cola está llena,
+ * según {@link OverflowPolicy}, el llamador espera a que el escritor libere
+ * espacio o el mensaje se descarta y se cuenta.
+ * <p>
+ * {@link #metrics()} expone registros escritos y descartados, la profundidad de
+ * la cola y la latencia desde que se encola un mensaje hasta que se escribe.
+ * <p>
+ * Debe cerrarse con {@link #close()}, idealmente en un try-with-resources
+ * (Item 9), para que los mensajes pendientes lleguen al disco.
+ */
+public final class AsyncFileLogger implements Logger, AutoCloseable {
+    public enum OverflowPolicy {
+        /** El llamador espera a que haya espacio; ningún mensaje se pierde. */
+        BLOCK,
+        /** El mensaje se descarta y se suma a {@link LoggerMetrics#getRecordsDropped()}. */
+        DROP
+    }
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_LIMIT = 1024;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final MpscRingBuffer<String> queue;
+    private final FileChannel channel;
+    private final Thread writer;
+    private final OverflowPolicy overflowPolicy;
+    private final LoggerMetrics metrics;
+    private final long[] batchStamps = new long[BATCH_LIMIT];
+    private int batchSize = 0;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    // Productores dentro de log(): close() los espera antes de detener al escritor,
+    // así ningún mensaje aceptado queda en la cola sin escribir
+    private final AtomicInteger activeProducers = new AtomicInteger();
+    private volatile boolean closed = false;
+    private volatile boolean stopping = false;
+    private volatile boolean writerIdle = false;
+    private volatile long written = 0;
+    private volatile Throwable failure;
+
+    public AsyncFileLogger(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity número de mensajes que caben en la cola; potencia de dos
+     */
+    public AsyncFileLogger(Path file, int capacity) throws IOException {
+        this(file, capacity, OverflowPolicy.BLOCK);
+    }
+
+    public AsyncFileLogger(Path file, int capacity, OverflowPolicy overflowPolicy) throws IOException {
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        queue = new MpscRingBuffer<>(capacity);
+        metrics = new LoggerMetrics(queue);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writer = new Thread(this::drainLoop, "async-file-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void log(String message) {
+        activeProducers.incrementAndGet();
+        try {
+            if (closed)
+                throw new IllegalStateException("logger is closed");
+            String record = String.valueOf(message);
+            while (!queue.offer(record, System.nanoTime())) {
+                checkFailure();
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    metrics.recordDropped();
+                    LockSupport.unpark(writer);
+                    return;
+                }
+                if (closed)
+                    throw new IllegalStateException("logger is closed");
+                if (!writer.isAlive())
+                    throw new IllegalStateException("writer thread is not running");
+                LockSupport.unpark(writer);
+                Thread.onSpinWait();
+            }
+            if (writerIdle)
+                LockSupport.unpark(writer);
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    public LoggerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Espera a que todo lo encolado hasta ahora esté escrito en el archivo.
+     */
+    public void flush() {
+        long target = queue.producedCount();
+        while (written < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, 50_000);
+        }
+        checkFailure();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        metrics.unregisterMBean();
+        // Los productores que ya pasaron el control de closed terminan de encolar
+        while (activeProducers.get() > 0) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, 50_000);
+        }
+        stopping = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        checkFailure();
+        int left = queue.size();
+        if (left > 0)
+            throw new IllegalStateException(left + " messages were not written");
+    }
+
+    private void drainLoop() {
+        try {
+            while (!stopping || queue.size() > 0) {
+                int drained = queue.drain(this::encode, BATCH_LIMIT);
+                writeBuffer();
+                recordBatch();
+                written = queue.consumedCount();
+                if (drained == 0) {
+                    writerIdle = true;
+                    if (queue.size() == 0 && !stopping)
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    writerIdle = false;
+                }
+            }
+            channel.force(false);
+        } catch (UncheckedIOException e) {
+            failure = e.getCause();
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null)
+                    failure = e;
+            }
+        }
+    }
+
+    private void encode(String message, long enqueuedNanos) {
+        batchStamps[batchSize++] = enqueuedNanos;
+        CharBuffer in = CharBuffer.wrap(message);
+        encoder.reset();
+        try {
+            while (encoder.encode(in, buffer, true).isOverflow())
+                writeBuffer();
+            while (encoder.flush(buffer).isOverflow())
+                writeBuffer();
+            if (!buffer.hasRemaining())
+                writeBuffer();
+            buffer.put((byte) '\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Los mensajes del lote ya están en el archivo
+    private void recordBatch() {
+        long now = System.nanoTime();
+        for (int i = 0; i < batchSize; i++)
+            metrics.recordWritten(batchStamps[i], now);
+        batchSize = 0;
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void checkFailure() {
+        Throwable t = failure;
+        if (t instanceof IOException e)
+            throw new UncheckedIOException(e);
+        if (t != null)
+            throw new IllegalStateException("writer thread failed", t);
+    }
+}
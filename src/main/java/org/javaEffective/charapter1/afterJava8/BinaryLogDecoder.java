@@ -0,0 +1,125 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Herramienta fuera de línea que convierte un archivo de {@link BinaryLogger} en
+ * texto. Cada evento se formatea con las mismas reglas de plantilla que
+ * {@link Logger}, precedido de su marca de tiempo:
+ * <pre>java ... BinaryLogDecoder archivo.blog</pre>
+ */
+public final class BinaryLogDecoder {
+    private static final Logger.Level[] LEVELS = Logger.Level.values();
+
+    private BinaryLogDecoder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: BinaryLogDecoder <file>");
+            System.exit(2);
+        }
+        PrintWriter out = new PrintWriter(System.out, false, StandardCharsets.UTF_8);
+        decode(Path.of(args[0]), out);
+        out.flush();
+    }
+
+    public static void decode(Path file, Appendable out) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            decode(in, out);
+        }
+    }
+
+    public static void decode(InputStream input, Appendable out) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != BinaryLogger.MAGIC)
+            throw new IOException("not a binary log");
+        byte version = in.readByte();
+        if (version != BinaryLogger.VERSION)
+            throw new IOException("unsupported binary log version " + version);
+
+        List<String> templates = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        Logger sink = text -> line.append(text);
+        try {
+            while (true) {
+                int tag = in.read();
+                if (tag < 0)
+                    return;
+                switch (tag) {
+                    case BinaryLogger.TEMPLATE -> {
+                        int id = in.readInt();
+                        if (id < 0)
+                            throw new IOException("corrupt binary log: template id " + id);
+                        String template = readText(in);
+                        while (templates.size() <= id)
+                            templates.add(null);
+                        templates.set(id, template);
+                    }
+                    case BinaryLogger.EVENT -> {
+                        long epochMillis = in.readLong();
+                        byte level = in.readByte();
+                        if (level != BinaryLogger.NO_LEVEL && (level < 0 || level >= LEVELS.length))
+                            throw new IOException("corrupt binary log: unknown level " + level);
+                        int id = in.readInt();
+                        String template = id >= 0 && id < templates.size() ? templates.get(id) : null;
+                        if (template == null)
+                            throw new IOException("corrupt binary log: undefined template " + id);
+                        int argc = in.readByte();
+                        if (argc < 0 || (level == BinaryLogger.NO_LEVEL && argc != 1))
+                            throw new IOException("corrupt binary log: argument count " + argc);
+                        Object[] args = new Object[argc];
+                        for (int i = 0; i < args.length; i++)
+                            args[i] = readArgument(in);
+                        line.setLength(0);
+                        if (level == BinaryLogger.NO_LEVEL)
+                            line.append(args[0]);
+                        else
+                            sink.log(LEVELS[level], template, args);
+                        out.append(Instant.ofEpochMilli(epochMillis).toString())
+                                .append(' ').append(line).append('\n');
+                    }
+                    default -> throw new IOException("corrupt binary log: unknown record " + tag);
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("truncated binary log", e);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object readArgument(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case BinaryLogger.NULL -> null;
+            case BinaryLogger.INT -> in.readInt();
+            case BinaryLogger.LONG -> in.readLong();
+            case BinaryLogger.DOUBLE -> in.readDouble();
+            case BinaryLogger.FLOAT -> in.readFloat();
+            case BinaryLogger.STRING -> readText(in);
+            default -> throw new IOException("corrupt binary log: unknown argument type " + type);
+        };
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            throw new IOException("corrupt binary log: text length " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
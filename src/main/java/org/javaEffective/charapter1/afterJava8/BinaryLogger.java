@@ -0,0 +1,274 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Logger estructurado binario: en lugar de formatear el texto, cada llamada
+ * guarda el identificador de su plantilla y los argumentos en crudo. La primera
+ * vez que aparece una plantilla se escribe su definición en el mismo archivo,
+ * de modo que {@link BinaryLogDecoder} puede reconstruir el texto más tarde.
+ * <p>
+ * Formato: cabecera {@code "BLOG"} + versión, seguida de registros
+ * {@link #TEMPLATE} ({@code int id, int length, UTF-8}) y {@link #EVENT}
+ * ({@code long epochMillis, byte level, int templateId, byte argc, args...}, con
+ * nivel {@link #NO_LEVEL} para {@link #log(String)});
+ * cada argumento lleva un byte de tipo. Todo en big-endian.
+ * <p>
+ * Las plantillas deben ser constantes: cada plantilla distinta ocupa una entrada
+ * en memoria mientras el logger esté abierto. Pasadas {@link #MAX_TEMPLATES}, una
+ * plantilla nueva ya no se registra y su evento se escribe como texto ya
+ * formateado, igual que un mensaje de {@link #log(String)}.
+ */
+public class BinaryLogger implements Logger, AutoCloseable {
+    static final int MAGIC = 0x424C4F47; // "BLOG"
+    static final byte VERSION = 1;
+
+    static final byte TEMPLATE = 1;
+    static final byte EVENT = 2;
+
+    static final byte NULL = 0;
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte STRING = 4;
+    static final byte FLOAT = 5;
+
+    // Plantilla usada por log(String) y log(Level, Supplier)
+    static final String RAW_TEMPLATE = "{}";
+    // Nivel de los mensajes de log(String), que se escriben sin prefijo
+    static final byte NO_LEVEL = -1;
+
+    static final int MAX_TEMPLATES = 4096;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final Map<String, Integer> templateIds = new HashMap<>();
+    private final Level minimum;
+    private final int maxTemplates;
+    // Formatea como un logger de texto y escribe el resultado sin plantilla
+    private final Logger rawText = text -> write(null, RAW_TEMPLATE, text);
+    private boolean closed = false;
+
+    public BinaryLogger(Path file) throws IOException {
+        this(file, Level.TRACE);
+    }
+
+    public BinaryLogger(Path file, Level minimum) throws IOException {
+        this(file, minimum, MAX_TEMPLATES);
+    }
+
+    BinaryLogger(Path file, Level minimum, int maxTemplates) throws IOException {
+        this.minimum = Objects.requireNonNull(minimum);
+        this.maxTemplates = maxTemplates;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).put(VERSION);
+        // Siempre registrada, para poder escribir texto aunque se agote el límite
+        templateIds.put(RAW_TEMPLATE, 0);
+        putText(TEMPLATE, 0, RAW_TEMPLATE);
+    }
+
+    @Override
+    public boolean isEnabled(Level level) {
+        return level.compareTo(minimum) >= 0;
+    }
+
+    // Sin nivel: como en Logger.withMinimumLevel, el mínimo no se aplica aquí
+    @Override
+    public void log(String message) {
+        write(null, RAW_TEMPLATE, message);
+    }
+
+    @Override
+    public void log(Level level, Supplier<String> message) {
+        if (isEnabled(level))
+            write(level, RAW_TEMPLATE, message.get());
+    }
+
+    @Override
+    public void log(Level level, String template, Object arg) {
+        if (isEnabled(level))
+            write(level, template, arg);
+    }
+
+    @Override
+    public void log(Level level, String template, Object arg1, Object arg2) {
+        if (isEnabled(level))
+            write(level, template, arg1, arg2);
+    }
+
+    @Override
+    public void log(Level level, String template, Object... args) {
+        if (isEnabled(level))
+            write(level, template, args);
+    }
+
+    @Override
+    public synchronized void log(Level level, String template, int arg) {
+        if (isEnabled(level)) {
+            if (beginEvent(level, template, 1, 1 + Integer.BYTES))
+                buffer.put(INT).putInt(arg);
+            else
+                rawText.log(level, template, arg);
+        }
+    }
+
+    @Override
+    public synchronized void log(Level level, String template, long arg) {
+        if (isEnabled(level)) {
+            if (beginEvent(level, template, 1, 1 + Long.BYTES))
+                buffer.put(LONG).putLong(arg);
+            else
+                rawText.log(level, template, arg);
+        }
+    }
+
+    @Override
+    public synchronized void log(Level level, String template, double arg) {
+        if (isEnabled(level)) {
+            if (beginEvent(level, template, 1, 1 + Double.BYTES))
+                buffer.put(DOUBLE).putDouble(arg);
+            else
+                rawText.log(level, template, arg);
+        }
+    }
+
+    public synchronized void flush() {
+        ensureOpen();
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        try (FileChannel c = channel) {
+            writeBuffer();
+            c.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closed = true;
+        }
+    }
+
+    private synchronized void write(Level level, String template, Object... args) {
+        if (!beginEvent(level, template, args.length)) {
+            rawText.log(level, template, args);
+            return;
+        }
+        for (Object arg : args)
+            putArgument(arg);
+    }
+
+    // Escribe la definición de la plantilla si es nueva y la cabecera del evento;
+    // devuelve false, sin escribir nada, si la plantilla es nueva y no caben más.
+    // Un registro puede quedar repartido entre dos escrituras al canal: el archivo
+    // es un flujo de bytes y el decodificador no depende de los límites del buffer.
+    private boolean beginEvent(Level level, String template, int argc) {
+        ensureOpen();
+        if (argc > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("too many arguments: " + argc);
+        Integer id = templateIds.get(template);
+        if (id == null) {
+            if (templateIds.size() >= maxTemplates)
+                return false;
+            id = templateIds.size();
+            templateIds.put(template, id);
+            putText(TEMPLATE, id, template);
+        }
+        ensureRoom(1 + Long.BYTES + 1 + Integer.BYTES + 1);
+        buffer.put(EVENT)
+                .putLong(System.currentTimeMillis())
+                .put(level == null ? NO_LEVEL : (byte) level.ordinal())
+                .putInt(id)
+                .put((byte) argc);
+        return true;
+    }
+
+    private boolean beginEvent(Level level, String template, int argc, int argBytes) {
+        if (!beginEvent(level, template, argc))
+            return false;
+        ensureRoom(argBytes);
+        return true;
+    }
+
+    private void putArgument(Object arg) {
+        if (arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            ensureRoom(1 + Integer.BYTES);
+            buffer.put(INT).putInt(((Number) arg).intValue());
+        } else if (arg instanceof Long l) {
+            ensureRoom(1 + Long.BYTES);
+            buffer.put(LONG).putLong(l);
+        } else if (arg instanceof Double d) {
+            ensureRoom(1 + Double.BYTES);
+            buffer.put(DOUBLE).putDouble(d);
+        } else if (arg instanceof Float f) {
+            // Como float, para que 0.1f se decodifique "0.1" y no "0.10000000149011612"
+            ensureRoom(1 + Float.BYTES);
+            buffer.put(FLOAT).putFloat(f);
+        } else if (arg == null) {
+            ensureRoom(1);
+            buffer.put(NULL);
+        } else {
+            byte[] text = arg.toString().getBytes(StandardCharsets.UTF_8);
+            ensureRoom(1 + Integer.BYTES);
+            buffer.put(STRING).putInt(text.length);
+            putBytes(text);
+        }
+    }
+
+    private void putText(byte tag, int id, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(1 + 2 * Integer.BYTES);
+        buffer.put(tag).putInt(id).putInt(bytes.length);
+        putBytes(bytes);
+    }
+
+    private void putBytes(byte[] bytes) {
+        for (int offset = 0; offset < bytes.length; ) {
+            ensureRoom(1);
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    private void ensureRoom(int bytes) {
+        if (buffer.remaining() >= bytes)
+            return;
+        try {
+            writeBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("logger is closed");
+    }
+}
@@ -0,0 +1,73 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma log-lineal al estilo HDR: cada potencia de dos se divide en
+ * {@value #SUB_BUCKETS} sub-intervalos, así el error relativo se mantiene por
+ * debajo de ~6% en todo el rango con un arreglo fijo de contadores. Pensado para
+ * un único hilo que registra y cualquier número de hilos que consultan.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BITS = 4; // log2(SUB_BUCKETS)
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private volatile long total = 0;
+    private volatile long max = 0;
+
+    void record(long value) {
+        if (value < 0)
+            value = 0;
+        int index = indexFor(value);
+        counts.setRelease(index, counts.getPlain(index) + 1);
+        if (value > max)
+            max = value;
+        total = total + 1;
+    }
+
+    long count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * Límite superior del intervalo que contiene el percentil {@code q} (0..1),
+     * o 0 si todavía no hay registros.
+     */
+    long percentile(double q) {
+        long n = total;
+        if (n == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(q * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.getAcquire(i);
+            if (seen >= target)
+                return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    static int indexFor(long value) {
+        if (value < LINEAR_LIMIT)
+            return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR_LIMIT)
+            return index;
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        long upper = ((sub + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -1,10 +1,141 @@
 package org.javaEffective.charapter1.afterJava8;
 
+import java.util.Objects;
+import java.util.function.Supplier;
+
 /** @FunctionalInterface, antes las interfaces no podían tener métodos estáticos y por eso se creaban
     clases compañeras no instanciables con métodos estáticos. Ahora las interfaces pueden tener
     métodos estáticos y por eso la clase compañera no es necesaria.
 */
 public interface Logger {
+    enum Level { TRACE, DEBUG, INFO, WARN, ERROR }
+
     void log(String message);
-}
 
+    /**
+     * Por defecto todos los niveles están habilitados; {@link #withMinimumLevel}
+     * devuelve un logger que descarta los inferiores.
+     */
+    default boolean isEnabled(Level level) {
+        return true;
+    }
+
+    /**
+     * El mensaje solo se construye si el nivel está habilitado.
+     */
+    default void log(Level level, Supplier<String> message) {
+        if (isEnabled(level))
+            log(prefix(level).append(message.get()).toString());
+    }
+
+    /**
+     * Cada {@code {}} de la plantilla se reemplaza por el siguiente argumento. Las
+     * variantes de uno y dos argumentos y las primitivas evitan el arreglo de
+     * varargs y el autoboxing cuando el nivel está deshabilitado.
+     */
+    default void log(Level level, String template, Object arg) {
+        if (isEnabled(level)) {
+            StringBuilder sb = prefix(level);
+            int pos = appendUntilPlaceholder(sb, template, 0);
+            if (pos >= 0)
+                sb.append(arg).append(template, pos, template.length());
+            log(sb.toString());
+        }
+    }
+
+    default void log(Level level, String template, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            StringBuilder sb = prefix(level);
+            int pos = appendUntilPlaceholder(sb, template, 0);
+            if (pos >= 0)
+                pos = appendUntilPlaceholder(sb.append(arg1), template, pos);
+            if (pos >= 0)
+                sb.append(arg2).append(template, pos, template.length());
+            log(sb.toString());
+        }
+    }
+
+    default void log(Level level, String template, Object... args) {
+        if (isEnabled(level)) {
+            StringBuilder sb = prefix(level);
+            int pos = 0;
+            for (Object arg : args) {
+                int next = appendUntilPlaceholder(sb, template, pos);
+                if (next < 0) {
+                    pos = -1;
+                    break;
+                }
+                sb.append(arg);
+                pos = next;
+            }
+            if (pos >= 0)
+                sb.append(template, pos, template.length());
+            log(sb.toString());
+        }
+    }
+
+    default void log(Level level, String template, int arg) {
+        if (isEnabled(level)) {
+            StringBuilder sb = prefix(level);
+            int pos = appendUntilPlaceholder(sb, template, 0);
+            if (pos >= 0)
+                sb.append(arg).append(template, pos, template.length());
+            log(sb.toString());
+        }
+    }
+
+    default void log(Level level, String template, long arg) {
+        if (isEnabled(level)) {
+            StringBuilder sb = prefix(level);
+            int pos = appendUntilPlaceholder(sb, template, 0);
+            if (pos >= 0)
+                sb.append(arg).append(template, pos, template.length());
+            log(sb.toString());
+        }
+    }
+
+    default void log(Level level, String template, double arg) {
+        if (isEnabled(level)) {
+            StringBuilder sb = prefix(level);
+            int pos = appendUntilPlaceholder(sb, template, 0);
+            if (pos >= 0)
+                sb.append(arg).append(template, pos, template.length());
+            log(sb.toString());
+        }
+    }
+
+    /**
+     * Envuelve {@code target} descartando los niveles inferiores a {@code minimum}.
+     */
+    static Logger withMinimumLevel(Level minimum, Logger target) {
+        Objects.requireNonNull(minimum);
+        Objects.requireNonNull(target);
+        return new Logger() {
+            @Override
+            public void log(String message) {
+                target.log(message);
+            }
+
+            @Override
+            public boolean isEnabled(Level level) {
+                return level.compareTo(minimum) >= 0 && target.isEnabled(level);
+            }
+        };
+    }
+
+    private static StringBuilder prefix(Level level) {
+        return new StringBuilder(64).append('[').append(level.name()).append("] ");
+    }
+
+    // Copia la plantilla hasta el siguiente {} y devuelve la posición que le sigue,
+    // o copia el resto y devuelve -1 si ya no quedan
+    private static int appendUntilPlaceholder(StringBuilder sb, String template, int from) {
+        int i = template.indexOf("{}", from);
+        if (i < 0) {
+            sb.append(template, from, template.length());
+            return -1;
+        }
+        sb.append(template, from, i);
+        return i + 2;
+    }
+}
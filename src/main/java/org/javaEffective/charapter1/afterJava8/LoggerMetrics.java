@@ -0,0 +1,116 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de un logger con cola: registros escritos, registros descartados por
+ * desbordamiento, profundidad de la cola y un histograma de la latencia entre que
+ * un mensaje se encola y llega al archivo. Se leen con {@link #snapshot()} o por
+ * JMX tras {@link #registerMBean(String)}.
+ */
+public final class LoggerMetrics implements LoggerMetricsMXBean {
+    private final MpscRingBuffer<?> queue;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private ObjectName objectName;
+
+    public record Snapshot(long recordsWritten, long recordsDropped, int queueDepth, int queueCapacity,
+                           long latencyP50Nanos, long latencyP99Nanos, long latencyP999Nanos,
+                           long latencyMaxNanos) {
+    }
+
+    LoggerMetrics(MpscRingBuffer<?> queue) {
+        this.queue = queue;
+    }
+
+    void recordWritten(long enqueuedNanos, long flushedNanos) {
+        written.increment();
+        latency.record(flushedNanos - enqueuedNanos);
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(getRecordsWritten(), getRecordsDropped(), getQueueDepth(), getQueueCapacity(),
+                getLatencyP50Nanos(), getLatencyP99Nanos(), getLatencyP999Nanos(), getLatencyMaxNanos());
+    }
+
+    /**
+     * Registra estas métricas en el servidor MBean de la plataforma como
+     * {@code org.javaEffective:type=Logger,name=<name>}.
+     */
+    public synchronized ObjectName registerMBean(String name) {
+        if (objectName != null)
+            throw new IllegalStateException("already registered as " + objectName);
+        try {
+            ObjectName on = new ObjectName("org.javaEffective", "type", "Logger");
+            on = new ObjectName(on.getCanonicalName() + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+            objectName = on;
+            return on;
+        } catch (JMException e) {
+            throw new IllegalStateException("cannot register logger metrics " + name, e);
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (objectName == null)
+            return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName))
+                server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("cannot unregister " + objectName, e);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    @Override
+    public long getRecordsWritten() {
+        return written.sum();
+    }
+
+    @Override
+    public long getRecordsDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latency.percentile(0.50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latency.percentile(0.99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return latency.percentile(0.999);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return latency.max();
+    }
+}
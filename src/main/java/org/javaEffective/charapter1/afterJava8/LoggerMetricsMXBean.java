@@ -0,0 +1,22 @@
+package org.javaEffective.charapter1.afterJava8;
+
+/**
+ * Vista JMX de {@link LoggerMetrics}; las latencias están en nanosegundos.
+ */
+public interface LoggerMetricsMXBean {
+    long getRecordsWritten();
+
+    long getRecordsDropped();
+
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+}
@@ -1,16 +1,76 @@
 package org.javaEffective.charapter1.afterJava8;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
 /**  @Clase_compañera_no_instanciable, antes las interfaces no podían tener métodos estáticos
      y por eso se creaban clases compañeras no instanciables con métodos estáticos. Ahora
      las interfaces pueden tener métodos estáticos y por eso esta clase compañera no es
      necesaria.
  */
 public class Loggers {
+    private static final Logger CONSOLE_LOGGER = message -> System.out.println(message);
+
+    // Suppress default constructor for noninstantiability
+    private Loggers() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Logger de archivo compartido, creado la primera vez que se pide (Item 83).
+     * Escribe en la ruta de la propiedad {@code logger.file} o en
+     * {@code application.log}, y se cierra al terminar la JVM.
+     */
     public static Logger getFileLogger() {
-        return (Logger) new Exception("Not implemented yet");
+        return DefaultFileLoggerHolder.INSTANCE;
+    }
+
+    public static AsyncFileLogger getFileLogger(Path file) {
+        try {
+            return new AsyncFileLogger(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Logger de auditoría sobre segmentos proyectados en memoria en {@code directory}.
+     */
+    public static MappedFileLogger getMappedFileLogger(Path directory, int segmentBytes,
+                                                       MappedFileLogger.ForcePolicy forcePolicy) {
+        try {
+            return new MappedFileLogger.Builder(directory)
+                    .segmentBytes(segmentBytes)
+                    .forcePolicy(forcePolicy)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Logger binario estructurado; el texto se obtiene después con {@link BinaryLogDecoder}.
+     */
+    public static BinaryLogger getBinaryLogger(Path file) {
+        try {
+            return new BinaryLogger(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public static Logger getConsoleLogger() {
-        return (Logger) new Exception("Not implemented yet");
+        return CONSOLE_LOGGER;
+    }
+
+    private static final class DefaultFileLoggerHolder {
+        static final AsyncFileLogger INSTANCE = createDefault();
+
+        private static AsyncFileLogger createDefault() {
+            AsyncFileLogger logger = getFileLogger(Path.of(System.getProperty("logger.file", "application.log")));
+            Runtime.getRuntime().addShutdownHook(new Thread(logger::close, "async-file-logger-shutdown"));
+            return logger;
+        }
     }
 }
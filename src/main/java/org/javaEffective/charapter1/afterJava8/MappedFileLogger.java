@@ -0,0 +1,273 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Logger que escribe cada mensaje directamente, en UTF-8, dentro de un segmento
+ * de archivo proyectado en memoria ({@link MappedByteBuffer}), sin arreglos
+ * intermedios. Cuando un mensaje no cabe en el segmento actual se abre el
+ * siguiente ({@code base-000001.log}, {@code base-000002.log}, ...).
+ * <p>
+ * La durabilidad se elige con {@link ForcePolicy}. Los segmentos se recortan a
+ * su tamaño real al rotar y al cerrar, después de deshacer la proyección:
+ * Windows no deja recortar un archivo proyectado.
+ */
+public class MappedFileLogger implements Logger, AutoCloseable {
+    public enum ForcePolicy {
+        /** {@code force()} tras cada mensaje: máxima durabilidad. */
+        EVERY_RECORD,
+        /** {@code force()} cuando pasó al menos {@code forceInterval} desde el anterior. */
+        PERIODIC,
+        /** Solo al rotar y al cerrar; el sistema operativo decide el resto. */
+        NONE
+    }
+
+    // Unsafe.invokeCleaner deshace la proyección en el acto; sin él, el segmento
+    // sigue proyectado hasta que el recolector reclame el buffer
+    private static final MethodHandle UNMAP = unmapHandle();
+
+    private final Path directory;
+    private final String baseName;
+    private final int segmentBytes;
+    private final ForcePolicy forcePolicy;
+    private final long forceIntervalNanos;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private int segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastForce = System.nanoTime();
+    private boolean closed = false;
+    // Primer error de una rotación: puede haber dejado el logger sin segmento proyectado
+    private Exception failure;
+
+    public static class Builder {
+        // Required parameters
+        private final Path directory;
+        // Optional parameters - initialized to default values
+        private String baseName = "audit";
+        private int segmentBytes = 64 * 1024 * 1024;
+        private ForcePolicy forcePolicy = ForcePolicy.PERIODIC;
+        private Duration forceInterval = Duration.ofSeconds(1);
+
+        public Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory);
+        }
+
+        public Builder baseName(String val) {
+            baseName = Objects.requireNonNull(val);
+            return this;
+        }
+
+        public Builder segmentBytes(int val) {
+            if (val < 64)
+                throw new IllegalArgumentException("segmentBytes too small: " + val);
+            segmentBytes = val;
+            return this;
+        }
+
+        public Builder forcePolicy(ForcePolicy val) {
+            forcePolicy = Objects.requireNonNull(val);
+            return this;
+        }
+
+        public Builder forceInterval(Duration val) {
+            forceInterval = Objects.requireNonNull(val);
+            return this;
+        }
+
+        public MappedFileLogger build() throws IOException {
+            return new MappedFileLogger(this);
+        }
+    }
+
+    private MappedFileLogger(Builder builder) throws IOException {
+        directory = builder.directory;
+        baseName = builder.baseName;
+        segmentBytes = builder.segmentBytes;
+        forcePolicy = builder.forcePolicy;
+        forceIntervalNanos = builder.forceInterval.toNanos();
+        Files.createDirectories(directory);
+        segmentIndex = lastSegmentIndex();
+        openNextSegment();
+    }
+
+    /**
+     * @throws IllegalArgumentException si el mensaje codificado no cabe en un segmento vacío
+     * @throws IllegalStateException    si está cerrado o falló una rotación anterior
+     */
+    @Override
+    public synchronized void log(String message) {
+        if (closed)
+            throw new IllegalStateException("logger is closed");
+        if (failure != null)
+            throw new IllegalStateException("segment rollover failed", failure);
+        try {
+            if (!append(message)) {
+                // Antes de rotar, para no dejar un segmento vacío por un mensaje que no cabe en ninguno
+                if (segment.position() == 0 || encodedLength(message) + 1 > segmentBytes)
+                    throw new IllegalArgumentException("message larger than segment size " + segmentBytes);
+                rollOver();
+                if (!append(message))
+                    throw new IllegalArgumentException("message larger than segment size " + segmentBytes);
+            }
+            if (forcePolicy == ForcePolicy.EVERY_RECORD)
+                force();
+            else if (forcePolicy == ForcePolicy.PERIODIC && System.nanoTime() - lastForce >= forceIntervalNanos)
+                force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized Path currentSegment() {
+        return segmentPath(segmentIndex);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (segment != null)
+                closeSegment();
+            else
+                channel.close(); // La rotación falló a medias: no queda segmento que recortar
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Codifica en el segmento; si no cabe, deja la posición como estaba
+    private boolean append(String message) {
+        int start = segment.position();
+        encoder.reset();
+        CharBuffer in = CharBuffer.wrap(message);
+        if (encoder.encode(in, segment, true).isOverflow()
+                || encoder.flush(segment).isOverflow()
+                || !segment.hasRemaining()) {
+            segment.position(start);
+            return false;
+        }
+        segment.put((byte) '\n');
+        return true;
+    }
+
+    // Bytes UTF-8 del mensaje; un sustituto suelto se reemplaza por '?', como en el encoder
+    private static long encodedLength(String message) {
+        long bytes = 0;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < message.length()
+                    && Character.isLowSurrogate(message.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void force() {
+        segment.force();
+        lastForce = System.nanoTime();
+    }
+
+    private void rollOver() throws IOException {
+        try {
+            closeSegment();
+            openNextSegment();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        channel = FileChannel.open(segmentPath(segmentIndex), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private void closeSegment() throws IOException {
+        force();
+        int used = segment.position();
+        MappedByteBuffer mapped = segment;
+        segment = null; // Ningún acceso al buffer después de deshacer la proyección
+        try (FileChannel c = channel) {
+            unmap(mapped);
+            c.truncate(used);
+        }
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        if (UNMAP == null)
+            return;
+        try {
+            UNMAP.invokeExact((ByteBuffer) buffer);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("cannot unmap segment", t);
+        }
+    }
+
+    private static MethodHandle unmapHandle() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s-%06d.log", baseName, index));
+    }
+
+    private int lastSegmentIndex() throws IOException {
+        Pattern segmentName = Pattern.compile(Pattern.quote(baseName) + "-(\\d{6})\\.log");
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> segmentName.matcher(p.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt(m -> Integer.parseInt(m.group(1)))
+                    .max()
+                    .orElse(0);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Cola acotada sin bloqueos para varios productores y un único consumidor.
+ * Cada celda lleva un número de secuencia que indica si está libre para el
+ * productor de la vuelta actual o lista para el consumidor, así los productores
+ * solo compiten por un CAS sobre {@code tail}.
+ */
+final class MpscRingBuffer<E> {
+    private final Object[] elements;
+    private final long[] stamps;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0; // solo lo escribe el consumidor
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("capacity must be a power of two >= 2: " + capacity);
+        elements = new Object[capacity];
+        stamps = new long[capacity];
+        sequences = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * Consumidor que recibe, junto a cada elemento, la marca con que se encoló.
+     */
+    interface StampedConsumer<E> {
+        void accept(E e, long stamp);
+    }
+
+    /**
+     * @return {@code false} si la cola está llena
+     */
+    boolean offer(E e) {
+        return offer(e, 0L);
+    }
+
+    /**
+     * Encola {@code e} con una marca asociada (por ejemplo, {@code System.nanoTime()}).
+     *
+     * @return {@code false} si la cola está llena
+     */
+    boolean offer(E e, long stamp) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long diff = sequences.getAcquire(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    elements[index] = e;
+                    stamps[index] = stamp;
+                    sequences.setRelease(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Entrega hasta {@code limit} elementos en orden y devuelve cuántos entregó.
+     * Solo puede llamarlo el hilo consumidor.
+     */
+    int drain(Consumer<? super E> consumer, int limit) {
+        return drain((e, stamp) -> consumer.accept(e), limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    int drain(StampedConsumer<? super E> consumer, int limit) {
+        long pos = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) pos & mask;
+            if (sequences.getAcquire(index) != pos + 1)
+                break;
+            E e = (E) elements[index];
+            long stamp = stamps[index];
+            elements[index] = null; // Eliminate obsolete reference
+            sequences.setRelease(index, pos + elements.length);
+            consumer.accept(e, stamp);
+            pos++;
+            drained++;
+        }
+        head = pos;
+        return drained;
+    }
+
+    /**
+     * Posición del próximo elemento que se encolará; sirve como marca para esperar
+     * a que el consumidor alcance todo lo encolado hasta ahora.
+     */
+    long producedCount() {
+        return tail.get();
+    }
+
+    long consumedCount() {
+        return head;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
@@ -1,13 +1,15 @@
 package org.javaEffective.charapter1.beforeJava8;
 
+import org.javaEffective.charapter1.afterJava8.Loggers;
+
 public interface Logger {
     void log(String message);
 
     static Logger getFileLogger() {
-        return (Logger) new Exception("Not implemented yet");
+        return Loggers.getFileLogger()::log;
     }
 
     default Logger getConsoleLogger() {
-        return (Logger) new Exception("Not implemented yet");
+        return Loggers.getConsoleLogger()::log;
     }
 }
@@ -0,0 +1,37 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import java.util.Objects;
+
+/**
+ * Un builder reutilizable por hilo para la construcción masiva: cada método
+ * devuelve el builder del hilo actual ya reiniciado, así crear un objeto no deja
+ * un builder (ni, en las pizzas, su {@code EnumSet}) como basura.
+ * <p>
+ * El builder devuelto solo es válido hasta la siguiente llamada al mismo método
+ * desde el mismo hilo; no debe guardarse ni compartirse con otros hilos.
+ */
+public final class BuilderPool {
+    private static final ThreadLocal<NutritionFacts.Builder> NUTRITION_FACTS =
+            ThreadLocal.withInitial(() -> new NutritionFacts.Builder(0, 0));
+    private static final ThreadLocal<NyPizza.Builder> NY_PIZZA =
+            ThreadLocal.withInitial(() -> new NyPizza.Builder(NyPizza.Size.SMALL));
+    private static final ThreadLocal<Calzone.BuilderInnerClass> CALZONE =
+            ThreadLocal.withInitial(Calzone.BuilderInnerClass::new);
+
+    // Suppress default constructor for noninstantiability
+    private BuilderPool() {
+        throw new AssertionError();
+    }
+
+    public static NutritionFacts.Builder nutritionFacts(int servingSize, int servings) {
+        return NUTRITION_FACTS.get().reset(servingSize, servings);
+    }
+
+    public static NyPizza.Builder nyPizza(NyPizza.Size size) {
+        return NY_PIZZA.get().reset(Objects.requireNonNull(size));
+    }
+
+    public static Calzone.BuilderInnerClass calzone() {
+        return CALZONE.get().reset();
+    }
+}
@@ -11,6 +11,12 @@ public class Calzone extends PizzaAbstract {
             return this;
         }
 
+        @Override
+        public BuilderInnerClass reset() {
+            sauceInside = false;
+            return super.reset();
+        }
+
         @Override
         public Calzone build() {
             return new Calzone(this);
@@ -26,4 +32,8 @@ public class Calzone extends PizzaAbstract {
         super(builder);
         sauceInside = builder.sauceInside;
     }
+
+    public boolean isSauceInside() {
+        return sauceInside;
+    }
 }
@@ -9,20 +9,37 @@ public class NutritionFacts {
     private final int carbohydrate;
 
     public static class Builder {
-        // Required parameters
-        private final int servingSize;
-        private final int servings;
+        // Required parameters - not final so that reset() can reuse the builder
+        private int servingSize;
+        private int servings;
         // Optional parameters - initialized to default values
         private int calories = 0;
         private int fat = 0;
         private int sodium = 0;
         private int carbohydrate = 0;
+        private NutritionFactsCache cache = null;
 
         public Builder(int servingSize, int servings) {
             this.servingSize = servingSize;
             this.servings = servings;
         }
 
+        /**
+         * Deja el builder como recién creado con {@code new Builder(servingSize, servings)},
+         * para reutilizarlo en lugar de crear uno por objeto (ver {@link BuilderPool}).
+         * También desactiva la caché elegida con {@link #cache}.
+         */
+        public Builder reset(int servingSize, int servings) {
+            this.servingSize = servingSize;
+            this.servings = servings;
+            calories = 0;
+            fat = 0;
+            sodium = 0;
+            carbohydrate = 0;
+            cache = null;
+            return this;
+        }
+
         public Builder calories(int val) {
             calories = val;
             return this;
@@ -43,9 +60,28 @@ public class NutritionFacts {
             return this;
         }
 
+        /**
+         * Con {@code build()} se obtendrá la instancia compartida de {@code cache} para
+         * estos valores en lugar de un objeto nuevo; {@code null} lo desactiva.
+         */
+        public Builder cache(NutritionFactsCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
         public NutritionFacts build() {
+            if (cache == null)
+                return newInstance();
+            return cache.canonicalize(this, servingSize, servings, calories, fat, sodium, carbohydrate);
+        }
+
+        NutritionFacts newInstance() {
             return new NutritionFacts(this);
         }
+
+        int appendTo(NutritionFactsTable table) {
+            return table.addRow(servingSize, servings, calories, fat, sodium, carbohydrate);
+        }
     }
 
     private NutritionFacts(Builder builder) {
@@ -0,0 +1,139 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import java.util.Arrays;
+
+/**
+ * Caché de instancias canónicas de {@link NutritionFacts} (flyweight): builders
+ * con los mismos seis valores obtienen el mismo objeto inmutable. Se activa por
+ * builder con {@link NutritionFacts.Builder#cache(NutritionFactsCache)}.
+ * <p>
+ * La tabla usa direccionamiento abierto guardando el hash de los seis campos en
+ * un {@code int[]} paralelo; la búsqueda compara primero ese hash y luego los
+ * campos de la instancia, así que una consulta no crea ningún objeto. El tamaño
+ * está acotado: al llenarse se desaloja una entrada con el algoritmo del reloj
+ * (segunda oportunidad), una aproximación barata de LRU. Es seguro para hilos.
+ */
+public final class NutritionFactsCache {
+    public record Stats(long hits, long misses, long evictions, int size) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private final int maxEntries;
+    private final NutritionFacts[] entries;
+    private final int[] hashes;
+    private final boolean[] referenced;
+    private final int shift;
+    private int size = 0;
+    private int hand = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public NutritionFactsCache(int maxEntries) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        if (maxEntries > 1 << 28)
+            throw new IllegalArgumentException("maxEntries too large: " + maxEntries);
+        this.maxEntries = maxEntries;
+        // Ocupación máxima del 50%: las sondas se mantienen cortas
+        int capacity = Integer.highestOneBit(maxEntries) << 2;
+        entries = new NutritionFacts[capacity];
+        hashes = new int[capacity];
+        referenced = new boolean[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    synchronized NutritionFacts canonicalize(NutritionFacts.Builder builder, int servingSize, int servings,
+                                             int calories, int fat, int sodium, int carbohydrate) {
+        int hash = hash(servingSize, servings, calories, fat, sodium, carbohydrate);
+        int mask = entries.length - 1;
+        int i = indexFor(hash);
+        for (NutritionFacts e; (e = entries[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash
+                    && e.getServingSize() == servingSize && e.getServings() == servings
+                    && e.getCalories() == calories && e.getFat() == fat
+                    && e.getSodium() == sodium && e.getCarbohydrate() == carbohydrate) {
+                hits++;
+                referenced[i] = true;
+                return e;
+            }
+        }
+        misses++;
+        NutritionFacts created = builder.newInstance();
+        if (size == maxEntries) {
+            evict();
+            // El desalojo puede haber desplazado entradas; buscar de nuevo un hueco
+            for (i = indexFor(hash); entries[i] != null; i = (i + 1) & mask)
+                ;
+        }
+        entries[i] = created;
+        hashes[i] = hash;
+        referenced[i] = false;
+        size++;
+        return created;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, size);
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        size = 0;
+    }
+
+    // Avanza el reloj quitando la marca de uso hasta dar con una entrada sin ella
+    private void evict() {
+        int mask = entries.length - 1;
+        while (true) {
+            hand = (hand + 1) & mask;
+            if (entries[hand] == null)
+                continue;
+            if (referenced[hand]) {
+                referenced[hand] = false;
+                continue;
+            }
+            deleteSlot(hand);
+            size--;
+            evictions++;
+            return;
+        }
+    }
+
+    // Borrado con desplazamiento hacia atrás, como en CaseInsensitiveMap
+    private void deleteSlot(int hole) {
+        int mask = entries.length - 1;
+        for (int j = (hole + 1) & mask; entries[j] != null; j = (j + 1) & mask) {
+            int home = indexFor(hashes[j]);
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                entries[hole] = entries[j];
+                hashes[hole] = hashes[j];
+                referenced[hole] = referenced[j];
+                hole = j;
+            }
+        }
+        entries[hole] = null;
+    }
+
+    private int indexFor(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    static int hash(int servingSize, int servings, int calories, int fat, int sodium, int carbohydrate) {
+        int h = servingSize;
+        h = 31 * h + servings;
+        h = 31 * h + calories;
+        h = 31 * h + fat;
+        h = 31 * h + sodium;
+        h = 31 * h + carbohydrate;
+        return h ^ (h >>> 16);
+    }
+}
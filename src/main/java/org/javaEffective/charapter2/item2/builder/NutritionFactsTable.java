@@ -0,0 +1,184 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Tabla columnar de {@link NutritionFacts}: cada campo se guarda en su propio
+ * {@code int[]} en lugar de un objeto por fila, así que recorrer una columna lee
+ * memoria contigua. Las agregaciones son bucles simples sobre un arreglo, que el
+ * compilador JIT puede vectorizar.
+ * <p>
+ * Las filas se agregan desde un {@link NutritionFacts.Builder} y solo se crea un
+ * {@code NutritionFacts} cuando se pide con {@link #get(int)} o {@link #asList()}.
+ * No es seguro para uso concurrente.
+ */
+public class NutritionFactsTable {
+    public enum Column { SERVING_SIZE, SERVINGS, CALORIES, FAT, SODIUM, CARBOHYDRATE }
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    private final int[][] columns = new int[Column.values().length][];
+    private int size = 0;
+
+    public NutritionFactsTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public NutritionFactsTable(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        for (int c = 0; c < columns.length; c++)
+            columns[c] = new int[initialCapacity];
+    }
+
+    /**
+     * Agrega una fila con los valores actuales del builder, que puede reutilizarse
+     * después (ver {@link BuilderPool}).
+     *
+     * @return índice de la nueva fila
+     */
+    public int add(NutritionFacts.Builder builder) {
+        return builder.appendTo(this);
+    }
+
+    int addRow(int servingSize, int servings, int calories, int fat, int sodium, int carbohydrate) {
+        if (size == columns[0].length)
+            grow();
+        int row = size++;
+        columns[Column.SERVING_SIZE.ordinal()][row] = servingSize;
+        columns[Column.SERVINGS.ordinal()][row] = servings;
+        columns[Column.CALORIES.ordinal()][row] = calories;
+        columns[Column.FAT.ordinal()][row] = fat;
+        columns[Column.SODIUM.ordinal()][row] = sodium;
+        columns[Column.CARBOHYDRATE.ordinal()][row] = carbohydrate;
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(Column column, int row) {
+        Objects.checkIndex(row, size);
+        return columns[column.ordinal()][row];
+    }
+
+    /**
+     * Materializa la fila como un {@code NutritionFacts} nuevo.
+     */
+    public NutritionFacts get(int row) {
+        Objects.checkIndex(row, size);
+        return new NutritionFacts.Builder(columns[0][row], columns[1][row])
+                .calories(columns[2][row])
+                .fat(columns[3][row])
+                .sodium(columns[4][row])
+                .carbohydrate(columns[5][row])
+                .build();
+    }
+
+    /**
+     * Vista de solo lectura que materializa cada elemento al accederlo; refleja las
+     * filas agregadas después de crearla.
+     */
+    public List<NutritionFacts> asList() {
+        return new AbstractList<>() {
+            @Override
+            public NutritionFacts get(int index) {
+                return NutritionFactsTable.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public long sum(Column column) {
+        int[] values = columns[column.ordinal()];
+        long sum = 0;
+        for (int i = 0; i < size; i++)
+            sum += values[i];
+        return sum;
+    }
+
+    /**
+     * @throws NoSuchElementException si la tabla está vacía
+     */
+    public int min(Column column) {
+        checkNotEmpty();
+        int[] values = columns[column.ordinal()];
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+            min = Math.min(min, values[i]);
+        return min;
+    }
+
+    /**
+     * @throws NoSuchElementException si la tabla está vacía
+     */
+    public int max(Column column) {
+        checkNotEmpty();
+        int[] values = columns[column.ordinal()];
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++)
+            max = Math.max(max, values[i]);
+        return max;
+    }
+
+    /**
+     * Cuenta las filas cuyo valor en {@code column} está en {@code [from, to]}.
+     * El bucle no tiene saltos, así que el JIT puede vectorizarlo.
+     */
+    public int count(Column column, int from, int to) {
+        int[] values = columns[column.ordinal()];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int v = values[i];
+            count += (v >= from & v <= to) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Índices, en orden, de las filas cuyo valor en {@code column} está en
+     * {@code [from, to]}; sirven para {@link #get(Column, int)} y {@link #sum(Column, int[])}.
+     */
+    public int[] filter(Column column, int from, int to) {
+        int[] values = columns[column.ordinal()];
+        int[] rows = new int[count(column, from, to)];
+        int n = 0;
+        for (int i = 0; i < size && n < rows.length; i++) {
+            int v = values[i];
+            if (v >= from && v <= to)
+                rows[n++] = i;
+        }
+        return rows;
+    }
+
+    /**
+     * Suma de {@code column} sobre las filas elegidas, por ejemplo con {@link #filter}.
+     */
+    public long sum(Column column, int[] rows) {
+        int[] values = columns[column.ordinal()];
+        long sum = 0;
+        for (int row : rows)
+            sum += values[Objects.checkIndex(row, size)];
+        return sum;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0)
+            throw new NoSuchElementException("table is empty");
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_INITIAL_CAPACITY, columns[0].length * 2);
+        for (int c = 0; c < columns.length; c++)
+            columns[c] = Arrays.copyOf(columns[c], capacity);
+    }
+}
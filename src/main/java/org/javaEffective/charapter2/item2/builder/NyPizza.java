@@ -13,12 +13,17 @@ public class NyPizza extends PizzaAbstract {
 
     public static class Builder extends PizzaAbstract.BuilderAbstract<Builder> {
 
-        private final Size size;
+        private Size size;
 
         public Builder(Size size) {
             this.size = Objects.requireNonNull(size);
         }
 
+        public Builder reset(Size size) {
+            this.size = Objects.requireNonNull(size);
+            return reset();
+        }
+
         @Override
         public NyPizza build() {
             return new NyPizza(this);
@@ -34,4 +39,8 @@ public class NyPizza extends PizzaAbstract {
         super(builder);
         size = builder.size;
     }
+
+    public Size getSize() {
+        return size;
+    }
 }
@@ -1,19 +1,42 @@
 package org.javaEffective.charapter2.item2.builder;
 
-import java.util.EnumSet;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 
 public abstract class PizzaAbstract {
-    public enum Topping { HAM, MUSHROOM, ONION, PEPPER, SAUSAGE }
+    public enum Topping {
+        HAM, MUSHROOM, ONION, PEPPER, SAUSAGE;
 
-    final Set<Topping> toppings;
+        /**
+         * Bit de este ingrediente en las máscaras de {@link #hasAll} y {@link #hasAny}.
+         */
+        public int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    // Un bit por ingrediente (Topping.bit()); el Set solo se crea si se pide
+    private final int toppingMask;
+    private Set<Topping> toppings;
 
     abstract static class BuilderAbstract<T extends BuilderAbstract<T>> {
-        EnumSet<Topping> toppings = EnumSet.noneOf(Topping.class);
+        int toppingMask = 0;
 
         public T addTopping(Topping topping) {
-            toppings.add(Objects.requireNonNull(topping));
+            toppingMask |= Objects.requireNonNull(topping).bit();
+            return self();
+        }
+
+        /**
+         * Quita los ingredientes para reutilizar el builder. Las subclases que
+         * tengan parámetros opcionales propios deben sobrescribirlo y llamar a
+         * {@code super.reset()}.
+         */
+        public T reset() {
+            toppingMask = 0;
             return self();
         }
 
@@ -24,6 +47,92 @@ public abstract class PizzaAbstract {
     }
 
     PizzaAbstract(BuilderAbstract<?> builder) {
-        toppings = builder.toppings.clone(); // See Item 50
+        toppingMask = builder.toppingMask; // A primitive needs no defensive copy (Item 50)
+    }
+
+    /**
+     * Máscara con los bits de todos los {@code toppings}.
+     */
+    public static int maskOf(Set<Topping> toppings) {
+        int mask = 0;
+        for (Topping topping : toppings)
+            mask |= topping.bit();
+        return mask;
+    }
+
+    /**
+     * Vista inmutable de los ingredientes, creada la primera vez que se pide.
+     */
+    public Set<Topping> getToppings() {
+        // Racy single-check idiom (Item 83): la vista es inmutable y equivalente
+        // entre hilos, crearla dos veces no es un problema
+        Set<Topping> result = toppings;
+        if (result == null)
+            toppings = result = new ToppingSet(toppingMask);
+        return result;
+    }
+
+    public int toppingMask() {
+        return toppingMask;
+    }
+
+    public boolean hasTopping(Topping topping) {
+        return (toppingMask & topping.bit()) != 0;
+    }
+
+    /**
+     * @param mask bits de {@link Topping#bit()}, por ejemplo de {@link #maskOf}
+     */
+    public boolean hasAll(int mask) {
+        return (toppingMask & mask) == mask;
+    }
+
+    public boolean hasAny(int mask) {
+        return (toppingMask & mask) != 0;
+    }
+
+    public int toppingCount() {
+        return Integer.bitCount(toppingMask);
+    }
+
+    private static final class ToppingSet extends AbstractSet<Topping> {
+        private static final Topping[] TOPPINGS = Topping.values();
+
+        private final int mask;
+
+        ToppingSet(int mask) {
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Topping t && (mask & t.bit()) != 0;
+        }
+
+        @Override
+        public int size() {
+            return Integer.bitCount(mask);
+        }
+
+        @Override
+        public Iterator<Topping> iterator() {
+            return new Iterator<>() {
+                private int remaining = mask;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining != 0;
+                }
+
+                @Override
+                public Topping next() {
+                    if (remaining == 0)
+                        throw new NoSuchElementException();
+                    int ordinal = Integer.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return TOPPINGS[ordinal];
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,65 @@
+package org.javaEffective.charapter2.item2.builder;
+
+/**
+ * Catálogo de todas las variantes posibles de {@link NyPizza} y {@link Calzone}:
+ * con cinco ingredientes, tres tamaños y la salsa dentro o fuera hay solo 160
+ * combinaciones, así que se construyen una vez, al cargar la clase, y cada
+ * pedido devuelve la instancia compartida (las pizzas son inmutables).
+ * <p>
+ * La clave es un entero que empaqueta el ordinal del tamaño (o la salsa) y la
+ * máscara de ingredientes de {@link PizzaAbstract.Topping#bit()}; la búsqueda es
+ * un acceso a un arreglo y no crea objetos.
+ */
+public final class PizzaCatalog {
+    private static final int TOPPING_BITS = PizzaAbstract.Topping.values().length;
+    private static final int ALL_TOPPINGS = (1 << TOPPING_BITS) - 1;
+
+    private static final NyPizza[] NY_PIZZAS = new NyPizza[NyPizza.Size.values().length << TOPPING_BITS];
+    private static final Calzone[] CALZONES = new Calzone[2 << TOPPING_BITS];
+
+    static {
+        for (NyPizza.Size size : NyPizza.Size.values()) {
+            for (int mask = 0; mask <= ALL_TOPPINGS; mask++) {
+                NyPizza.Builder builder = new NyPizza.Builder(size);
+                builder.toppingMask = mask;
+                NY_PIZZAS[key(size.ordinal(), mask)] = builder.build();
+            }
+        }
+        for (int sauce = 0; sauce < 2; sauce++) {
+            for (int mask = 0; mask <= ALL_TOPPINGS; mask++) {
+                Calzone.BuilderInnerClass builder = new Calzone.BuilderInnerClass();
+                builder.toppingMask = mask;
+                if (sauce == 1)
+                    builder.sauceInside();
+                CALZONES[key(sauce, mask)] = builder.build();
+            }
+        }
+    }
+
+    // Suppress default constructor for noninstantiability
+    private PizzaCatalog() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param toppingMask bits de {@link PizzaAbstract.Topping#bit()}, por ejemplo
+     *                    de {@link PizzaAbstract#maskOf}
+     */
+    public static NyPizza nyPizza(NyPizza.Size size, int toppingMask) {
+        return NY_PIZZAS[key(size.ordinal(), checkMask(toppingMask))];
+    }
+
+    public static Calzone calzone(boolean sauceInside, int toppingMask) {
+        return CALZONES[key(sauceInside ? 1 : 0, checkMask(toppingMask))];
+    }
+
+    private static int key(int variant, int toppingMask) {
+        return variant << TOPPING_BITS | toppingMask;
+    }
+
+    private static int checkMask(int toppingMask) {
+        if ((toppingMask & ~ALL_TOPPINGS) != 0)
+            throw new IllegalArgumentException("invalid topping mask: " + toppingMask);
+        return toppingMask;
+    }
+}
@@ -0,0 +1,33 @@
+package org.javaEffective.charapter2.item2.generated;
+
+import org.javaEffective.charapter2.item2.processor.GenerateBuilder;
+
+/**
+ * Misma jerarquía que {@code PizzaAbstract}, pero {@code BeverageBuilder<T>} y
+ * {@link CoffeeBuilder} los genera {@code BuilderProcessor} al compilar.
+ */
+@GenerateBuilder
+public abstract class Beverage {
+    @GenerateBuilder.Required
+    private final String name;
+    private final int calories;
+    private final int sugarGrams;
+
+    Beverage(BeverageBuilder<?> builder) {
+        name = builder.name;
+        calories = builder.calories;
+        sugarGrams = builder.sugarGrams;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCalories() {
+        return calories;
+    }
+
+    public int getSugarGrams() {
+        return sugarGrams;
+    }
+}
@@ -0,0 +1,32 @@
+package org.javaEffective.charapter2.item2.generated;
+
+import org.javaEffective.charapter2.item2.processor.GenerateBuilder;
+
+@GenerateBuilder
+public class Coffee extends Beverage {
+    public enum Roast { LIGHT, MEDIUM, DARK }
+
+    @GenerateBuilder.Required
+    private final Roast roast;
+    private final int shots;
+    private final boolean milk;
+
+    Coffee(CoffeeBuilder builder) {
+        super(builder);
+        roast = builder.roast;
+        shots = builder.shots;
+        milk = builder.milk;
+    }
+
+    public Roast getRoast() {
+        return roast;
+    }
+
+    public int getShots() {
+        return shots;
+    }
+
+    public boolean hasMilk() {
+        return milk;
+    }
+}
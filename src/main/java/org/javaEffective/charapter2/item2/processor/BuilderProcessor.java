@@ -0,0 +1,229 @@
+package org.javaEffective.charapter2.item2.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Procesador de anotaciones que escribe el código fuente del builder de cada
+ * clase con {@link GenerateBuilder}. El builder generado es código Java normal,
+ * compilado junto al resto: construir un objeto no usa reflexión ni tiene coste
+ * de arranque.
+ * <p>
+ * No se registra en {@code META-INF/services}, para que quien use el jar no lo
+ * ejecute sin pedirlo: el {@code pom.xml} lo compila en una ejecución previa del
+ * compilador y lo declara con {@code <annotationProcessors>} al compilar el resto
+ * del código.
+ */
+@SupportedAnnotationTypes("org.javaEffective.charapter2.item2.processor.GenerateBuilder")
+public class BuilderProcessor extends AbstractProcessor {
+
+    private record Property(String name, String type, boolean required, boolean primitive) {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateBuilder.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateBuilder only applies to classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (isValid(type)) {
+                try {
+                    generate(type);
+                } catch (IOException e) {
+                    error(type, "cannot write builder: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isValid(TypeElement type) {
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+            error(type, "@GenerateBuilder requires a top-level class");
+            return false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@GenerateBuilder does not support generic classes");
+            return false;
+        }
+        TypeElement parent = annotatedSuperclass(type);
+        if (parent != null && !parent.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "superclass " + parent.getSimpleName()
+                    + " must be abstract for its generated builder to be extended");
+            return false;
+        }
+        Set<String> names = new HashSet<>();
+        for (TypeElement t = type; t != null; t = annotatedSuperclass(t)) {
+            for (Property p : properties(t)) {
+                if (!names.add(p.name())) {
+                    error(type, "duplicate builder parameter '" + p.name() + "'");
+                    return false;
+                }
+                if (p.name().equals("build") || p.name().equals("self")) {
+                    error(type, "field name '" + p.name() + "' clashes with a builder method");
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = type.getSimpleName().toString();
+        String builderName = simpleName + "Builder";
+        boolean hierarchical = type.getModifiers().contains(Modifier.ABSTRACT);
+        TypeElement parent = annotatedSuperclass(type);
+        String self = hierarchical ? "T" : builderName;
+        String returnSelf = hierarchical || parent != null ? "self()" : "this";
+
+        List<Property> own = properties(type);
+        List<Property> inheritedRequired = parent == null ? List.of() : requiredChain(parent);
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(qualified(packageName, builderName), type).openWriter())) {
+            if (!packageName.isEmpty())
+                out.println("package " + packageName + ";");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + BuilderProcessor.class.getName() + "\")");
+            StringBuilder header = new StringBuilder("public ");
+            if (hierarchical)
+                header.append("abstract class ").append(builderName)
+                        .append("<T extends ").append(builderName).append("<T>>");
+            else
+                header.append("class ").append(builderName);
+            if (parent != null)
+                header.append(" extends ").append(parent.getQualifiedName()).append("Builder<").append(self).append('>');
+            out.println(header.append(" {"));
+
+            for (Property p : own)
+                out.println("    " + p.type() + " " + p.name() + ";");
+            out.println();
+
+            StringJoiner params = new StringJoiner(", ");
+            StringJoiner superArgs = new StringJoiner(", ");
+            for (Property p : inheritedRequired) {
+                params.add(p.type() + " " + p.name());
+                superArgs.add(p.name());
+            }
+            for (Property p : own)
+                if (p.required())
+                    params.add(p.type() + " " + p.name());
+            out.println("    " + (hierarchical ? "protected " : "public ") + builderName + "(" + params + ") {");
+            if (parent != null)
+                out.println("        super(" + superArgs + ");");
+            for (Property p : own) {
+                if (!p.required())
+                    continue;
+                if (p.primitive())
+                    out.println("        this." + p.name() + " = " + p.name() + ";");
+                else
+                    out.println("        this." + p.name() + " = java.util.Objects.requireNonNull("
+                            + p.name() + ", \"" + p.name() + "\");");
+            }
+            out.println("    }");
+
+            for (Property p : own) {
+                if (p.required())
+                    continue;
+                out.println();
+                out.println("    public " + self + " " + p.name() + "(" + p.type() + " val) {");
+                out.println("        " + p.name() + " = val;");
+                out.println("        return " + returnSelf + ";");
+                out.println("    }");
+            }
+
+            out.println();
+            if (hierarchical) {
+                if (parent != null)
+                    out.println("    @Override");
+                out.println("    public abstract " + simpleName + " build();");
+                if (parent == null) {
+                    out.println();
+                    out.println("    // Subclasses must override this method to return \"this\"");
+                    out.println("    protected abstract T self();");
+                }
+            } else {
+                if (parent != null)
+                    out.println("    @Override");
+                out.println("    public " + simpleName + " build() {");
+                out.println("        return new " + simpleName + "(this);");
+                out.println("    }");
+                if (parent != null) {
+                    out.println();
+                    out.println("    @Override");
+                    out.println("    protected " + builderName + " self() {");
+                    out.println("        return this;");
+                    out.println("    }");
+                }
+            }
+            out.println("}");
+        }
+    }
+
+    // Parámetros obligatorios de la clase y sus superclases anotadas, de la raíz hacia abajo
+    private List<Property> requiredChain(TypeElement type) {
+        TypeElement parent = annotatedSuperclass(type);
+        List<Property> chain = parent == null ? new ArrayList<>() : requiredChain(parent);
+        for (Property p : properties(type))
+            if (p.required())
+                chain.add(p);
+        return chain;
+    }
+
+    private List<Property> properties(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC))
+                continue;
+            TypeMirror fieldType = field.asType();
+            properties.add(new Property(field.getSimpleName().toString(), fieldType.toString(),
+                    field.getAnnotation(GenerateBuilder.Required.class) != null,
+                    fieldType.getKind().isPrimitive()));
+        }
+        return properties;
+    }
+
+    private TypeElement annotatedSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED)
+            return null;
+        TypeElement parent = (TypeElement) ((DeclaredType) superclass).asElement();
+        return parent.getAnnotation(GenerateBuilder.class) != null ? parent : null;
+    }
+
+    private static String qualified(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
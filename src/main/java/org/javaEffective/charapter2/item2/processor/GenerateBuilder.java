@@ -0,0 +1,44 @@
+package org.javaEffective.charapter2.item2.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pide a {@link BuilderProcessor} que genere, al compilar, el builder de la clase
+ * anotada ({@code Foo} → {@code FooBuilder}, en el mismo paquete). Cada campo de
+ * instancia es un parámetro: los marcados con {@link Required} van en el
+ * constructor del builder y el resto tiene un método con su nombre.
+ * <p>
+ * La clase debe declarar un constructor que reciba el builder, como en Item 2:
+ * <pre>{@code
+ * @GenerateBuilder
+ * public class Foo {
+ *     @GenerateBuilder.Required
+ *     private final int size;
+ *     private final String name;
+ *
+ *     Foo(FooBuilder builder) {
+ *         size = builder.size;
+ *         name = builder.name;
+ *     }
+ * }
+ * }</pre>
+ * Si la clase es abstracta se genera un builder jerárquico
+ * {@code FooBuilder<T extends FooBuilder<T>>} con {@code self()}, y el builder de
+ * una subclase anotada lo extiende; el constructor de la clase abstracta recibe
+ * entonces un {@code FooBuilder<?>}.
+ */
+@Retention(RetentionPolicy.CLASS) // visible también para subclases compiladas más tarde
+@Target(ElementType.TYPE)
+public @interface GenerateBuilder {
+    /**
+     * Parámetro obligatorio: se pide en el constructor del builder y, si no es
+     * primitivo, no puede ser {@code null}.
+     */
+    @Retention(RetentionPolicy.CLASS)
+    @Target(ElementType.FIELD)
+    @interface Required {
+    }
+}
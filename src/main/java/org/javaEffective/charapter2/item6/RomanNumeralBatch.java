@@ -0,0 +1,213 @@
+package org.javaEffective.charapter2.item6;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Conversión masiva de numerales romanos con {@link RomanNumeralParser}. Los
+ * resultados son un {@code int[]} en el mismo orden que la entrada, con
+ * {@link #INVALID} en las posiciones que no son numerales válidos.
+ */
+public final class RomanNumeralBatch {
+    public static final int INVALID = -1;
+
+    private static final int SEQUENTIAL_THRESHOLD = 4 * 1024;
+    private static final int FILE_CHUNK_BYTES = 32 * 1024 * 1024;
+
+    private RomanNumeralBatch() {
+    }
+
+    public static int[] parseAll(CharSequence[] numerals) {
+        int[] result = new int[numerals.length];
+        ForkJoinPool.commonPool().invoke(new ParseTask(numerals, result, 0, numerals.length));
+        return result;
+    }
+
+    public static int[] parseAll(Stream<String> numerals) {
+        return numerals.parallel().mapToInt(RomanNumeralBatch::parseOrInvalid).toArray();
+    }
+
+    /**
+     * Convierte un archivo ASCII/UTF-8 con un numeral por línea. El archivo se
+     * proyecta en memoria por bloques alineados a fin de línea que se procesan en
+     * paralelo; las líneas se leen directamente del bloque, sin crear {@code String}.
+     */
+    public static int[] parseFile(Path file) throws IOException {
+        return parseFile(file, FILE_CHUNK_BYTES);
+    }
+
+    static int[] parseFile(Path file, int chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, chunkBytes);
+            List<int[]> parts;
+            try {
+                parts = IntStream.range(0, bounds.length - 1)
+                        .parallel()
+                        .mapToObj(i -> parseChunk(channel, bounds[i], bounds[i + 1]))
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int total = 0;
+            for (int[] part : parts)
+                total += part.length;
+            int[] result = new int[total];
+            int offset = 0;
+            for (int[] part : parts) {
+                System.arraycopy(part, 0, result, offset, part.length);
+                offset += part.length;
+            }
+            return result;
+        }
+    }
+
+    static int parseOrInvalid(CharSequence s) {
+        long value = RomanNumeralParser.scan(s);
+        return value == RomanNumeralParser.INVALID || value > Integer.MAX_VALUE ? INVALID : (int) value;
+    }
+
+    // Nunca se serializa: los arreglos son transient para que -Xlint:serial no avise
+    private static final class ParseTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient CharSequence[] numerals;
+        private final transient int[] result;
+        private final int from;
+        private final int to;
+
+        ParseTask(CharSequence[] numerals, int[] result, int from, int to) {
+            this.numerals = numerals;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++)
+                    result[i] = parseOrInvalid(numerals[i]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParseTask(numerals, result, from, mid),
+                      new ParseTask(numerals, result, mid, to));
+        }
+    }
+
+    // Cortes cada chunkBytes, desplazados hasta justo después del siguiente '\n'
+    private static long[] chunkBounds(FileChannel channel, int chunkBytes) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long pos = chunkBytes;
+        while (pos < size) {
+            long cut = size;
+            scan:
+            while (pos < size) {
+                probe.clear();
+                int read = channel.read(probe, pos);
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        cut = pos + i + 1;
+                        break scan;
+                    }
+                }
+                pos += read;
+            }
+            if (cut < size)
+                bounds.add(cut);
+            pos = cut + chunkBytes;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static int[] parseChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int limit = buffer.limit();
+
+        int lines = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n')
+                lines++;
+        }
+        if (limit > 0 && buffer.get(limit - 1) != '\n')
+            lines++;
+
+        int[] result = new int[lines];
+        AsciiLine line = new AsciiLine(buffer);
+        int lineStart = 0;
+        int n = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i == limit ? i > lineStart : buffer.get(i) == '\n') {
+                int lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+                result[n++] = parseOrInvalid(line.reset(lineStart, lineEnd - lineStart));
+                lineStart = i + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vista reutilizable de una línea del archivo proyectado como {@link CharSequence}.
+     */
+    private static final class AsciiLine implements CharSequence {
+        private final ByteBuffer buffer;
+        private int start;
+        private int length;
+
+        AsciiLine(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        AsciiLine reset(int start, int length) {
+            this.start = start;
+            this.length = length;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().subSequence(from, to);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.javaEffective.charapter2.item6;
+
+/**
+ * Formateo de enteros entre {@link #MIN} y {@link #MAX} mediante una tabla
+ * precalculada con las 3999 formas canónicas. La tabla se crea la primera vez
+ * que se usa, con el idioma de la clase contenedora (Item 83), y sus cadenas
+ * se internan para compartirlas con cualquier literal igual.
+ */
+public final class RomanNumeralFormatter {
+    public static final int MIN = 1;
+    public static final int MAX = 3999;
+
+    private RomanNumeralFormatter() {
+    }
+
+    private static final class TableHolder {
+        static final String[] TABLE = buildTable();
+
+        private static String[] buildTable() {
+            String[] table = new String[MAX + 1];
+            for (int n = MIN; n <= MAX; n++)
+                table[n] = RomanNumeralParser.formatCanonical(n).intern();
+            return table;
+        }
+    }
+
+    public static String format(int n) {
+        checkRange(n);
+        return TableHolder.TABLE[n];
+    }
+
+    /**
+     * Añade el numeral a {@code sb} sin crear objetos intermedios.
+     */
+    public static StringBuilder appendTo(StringBuilder sb, int n) {
+        checkRange(n);
+        return sb.append(TableHolder.TABLE[n]);
+    }
+
+    private static void checkRange(int n) {
+        if (n < MIN || n > MAX)
+            throw new IllegalArgumentException("Out of range [" + MIN + ", " + MAX + "]: " + n);
+    }
+}
@@ -0,0 +1,107 @@
+package org.javaEffective.charapter2.item6;
+
+/**
+ * Validador y conversor de numerales romanos escrito a mano. Acepta exactamente
+ * el mismo lenguaje que {@code RomanNumerals.ROMAN}, pero recorre la cadena una
+ * sola vez sin retroceso y sin crear un {@code Matcher} por llamada (Item 6).
+ */
+public final class RomanNumeralParser {
+    static final long INVALID = -1;
+
+    // Por cada posición decimal: símbolo de 1, de 5 y de 10, y su valor
+    private static final char[] ONES = {'C', 'X', 'I'};
+    private static final char[] FIVES = {'D', 'L', 'V'};
+    private static final char[] TENS = {'M', 'C', 'X'};
+    private static final int[] UNITS = {100, 10, 1};
+
+    private static final int[] VALUES = {1000, 900, 500, 400, 100, 90, 50, 40, 10, 9, 5, 4, 1};
+    private static final String[] SYMBOLS = {"M", "CM", "D", "CD", "C", "XC", "L", "XL", "X", "IX", "V", "IV", "I"};
+
+    private RomanNumeralParser() {
+        // Clase no instanciable (Item 4)
+    }
+
+    public static boolean isRomanNumeral(CharSequence s) {
+        return scan(s) != INVALID;
+    }
+
+    /**
+     * @throws NumberFormatException si {@code s} no es un numeral romano o su
+     *                               valor no cabe en un {@code int}
+     */
+    public static int parse(CharSequence s) {
+        long value = scan(s);
+        if (value == INVALID || value > Integer.MAX_VALUE)
+            throw new NumberFormatException("Not a Roman numeral: " + s);
+        return (int) value;
+    }
+
+    /**
+     * Forma canónica de {@code n}; los millares se repiten como {@code M}.
+     * Entre 1 y 3999 se obtiene de la tabla de {@link RomanNumeralFormatter}.
+     */
+    public static String format(int n) {
+        if (n < 1)
+            throw new IllegalArgumentException("Roman numerals start at 1: " + n);
+        if (n <= RomanNumeralFormatter.MAX)
+            return RomanNumeralFormatter.format(n);
+        return formatCanonical(n);
+    }
+
+    static String formatCanonical(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < VALUES.length; i++) {
+            while (n >= VALUES[i]) {
+                sb.append(SYMBOLS[i]);
+                n -= VALUES[i];
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Devuelve el valor de {@code s} o {@link #INVALID}. El valor es {@code long}
+     * porque el patrón original admite cualquier número de {@code M}.
+     */
+    static long scan(CharSequence s) {
+        int length = s.length();
+        if (length == 0)
+            return INVALID;
+
+        int pos = 0;
+        while (pos < length && s.charAt(pos) == 'M')
+            pos++;
+        long value = 1000L * pos;
+
+        for (int place = 0; place < UNITS.length; place++) {
+            char one = ONES[place];
+            char five = FIVES[place];
+            int digit = 0;
+            if (pos < length && s.charAt(pos) == one) {
+                pos++;
+                if (pos < length && s.charAt(pos) == TENS[place]) {
+                    digit = 9;
+                    pos++;
+                } else if (pos < length && s.charAt(pos) == five) {
+                    digit = 4;
+                    pos++;
+                } else {
+                    digit = 1;
+                    while (digit < 3 && pos < length && s.charAt(pos) == one) {
+                        digit++;
+                        pos++;
+                    }
+                }
+            } else if (pos < length && s.charAt(pos) == five) {
+                digit = 5;
+                pos++;
+                while (digit < 8 && pos < length && s.charAt(pos) == one) {
+                    digit++;
+                    pos++;
+                }
+            }
+            value += (long) digit * UNITS[place];
+        }
+        return pos == length ? value : INVALID;
+    }
+}
@@ -0,0 +1,105 @@
+package org.javaEffective.charapter2.item7;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pila sin bloqueos (Treiber): la cima es un {@link AtomicReference} que se
+ * actualiza con CAS, así que no hace falta envolverla en {@code synchronized}.
+ * Cuando un CAS falla por contención, el hilo intenta emparejarse con una
+ * operación opuesta en el arreglo de eliminación: un push y un pop que se
+ * encuentran allí se cancelan sin tocar la cima.
+ */
+public class ConcurrentStack<E> {
+    private static final int ELIMINATION_SPINS = 64;
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final AtomicReference<Node<E>> head = new AtomicReference<>();
+    private final AtomicReferenceArray<Node<E>> elimination;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public ConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots < 1)
+            throw new IllegalArgumentException("eliminationSlots must be positive: " + eliminationSlots);
+        elimination = new AtomicReferenceArray<>(eliminationSlots);
+    }
+
+    public void push(E e) {
+        Node<E> node = new Node<>(e);
+        while (true) {
+            Node<E> top = head.get();
+            node.next = top;
+            if (head.compareAndSet(top, node)) {
+                size.increment();
+                return;
+            }
+            if (eliminatePush(node))
+                return;
+        }
+    }
+
+    public E pop() {
+        while (true) {
+            Node<E> top = head.get();
+            if (top == null)
+                throw new EmptyStackException();
+            if (head.compareAndSet(top, top.next)) {
+                size.decrement();
+                return top.item;
+            }
+            Node<E> other = eliminatePop();
+            if (other != null)
+                return other.item;
+        }
+    }
+
+    /**
+     * Estimación del número de elementos. Bajo concurrencia la suma del
+     * {@link LongAdder} puede ver el decremento de un pop antes que el incremento
+     * de su push, así que se acota a {@code [0, Integer.MAX_VALUE]}; solo es
+     * exacta cuando no hay operaciones en curso.
+     */
+    public int getSize() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, size.sum()));
+    }
+
+    // Deja el nodo en una celda libre y espera a que un pop lo retire.
+    // Si al final logra recuperarlo, nadie lo tomó y hay que reintentar en la cima.
+    private boolean eliminatePush(Node<E> node) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        if (!elimination.compareAndSet(slot, null, node))
+            return false;
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (elimination.get(slot) != node)
+                return true;
+            Thread.onSpinWait();
+        }
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+    private Node<E> eliminatePop() {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            Node<E> node = elimination.get(slot);
+            if (node != null && elimination.compareAndSet(slot, node, null))
+                return node;
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+}
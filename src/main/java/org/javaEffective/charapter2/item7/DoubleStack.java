@@ -0,0 +1,43 @@
+package org.javaEffective.charapter2.item7;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Variante de {@link Stack} especializada en {@code double}: los valores se guardan
+ * directamente en un {@code double[]}, evitando el autoboxing en cada push/pop (Item 6).
+ * Al ser primitivos no hay referencias obsoletas que anular al hacer pop.
+ */
+public class DoubleStack {
+    private double[] elements;
+    private int size = 0;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    public DoubleStack() {
+        elements = new double[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    public void push(double e) {
+        ensureCapacity();
+        elements[size++] = e;
+    }
+
+    public double pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        return elements[--size];
+    }
+
+    /**
+     * Ensure space for at least one more element, roughly
+     * doubling the capacity each time the array needs to grow.
+     */
+    private void ensureCapacity() {
+        if (elements.length == size)
+            elements = Arrays.copyOf(elements, 2 * size + 1);
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
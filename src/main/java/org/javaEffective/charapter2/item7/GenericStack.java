@@ -0,0 +1,113 @@
+package org.javaEffective.charapter2.item7;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EmptyStackException;
+
+/**
+ * Versión genérica de {@link Stack} (Item 29) con operaciones en bloque que usan
+ * comodines acotados (Item 31). A diferencia de {@link Stack}, el arreglo también
+ * se reduce: cuando el tamaño cae por debajo de {@code capacidad / shrinkDivisor}
+ * la capacidad se divide a la mitad. Como crece al llenarse y solo se reduce al
+ * quedar muy vacío, una secuencia push/pop en el borde no provoca copias repetidas.
+ */
+public class GenericStack<E> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int DEFAULT_SHRINK_DIVISOR = 4;
+
+    private E[] elements;
+    private int size = 0;
+    private final int initialCapacity;
+    private final int shrinkDivisor;
+
+    public GenericStack() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_SHRINK_DIVISOR);
+    }
+
+    /**
+     * @param shrinkDivisor 0 para no reducir nunca el arreglo; en otro caso debe
+     *                      ser al menos 3 para que crecer y reducir no se alternen
+     */
+    // The elements array will contain only E instances from push(E).
+    // This is sufficient to ensure type safety, but the runtime
+    // type of the array won't be E[]; it will always be Object[]!
+    @SuppressWarnings("unchecked")
+    public GenericStack(int initialCapacity, int shrinkDivisor) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+        if (shrinkDivisor != 0 && shrinkDivisor < 3)
+            throw new IllegalArgumentException("shrinkDivisor must be 0 or >= 3: " + shrinkDivisor);
+        this.initialCapacity = initialCapacity;
+        this.shrinkDivisor = shrinkDivisor;
+        elements = (E[]) new Object[initialCapacity];
+    }
+
+    public void push(E e) {
+        ensureCapacity(size + 1);
+        elements[size++] = e;
+    }
+
+    public E pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        E result = elements[--size];
+        elements[size] = null; // Eliminate obsolete reference
+        shrinkIfSparse();
+        return result;
+    }
+
+    /**
+     * Apila todos los elementos en el orden de iteración. Si {@code src} es una
+     * {@link Collection} se copian en un solo {@code System.arraycopy}.
+     */
+    public void pushAll(Iterable<? extends E> src) {
+        if (src instanceof Collection<? extends E> c) {
+            Object[] batch = c.toArray();
+            ensureCapacity(size + batch.length);
+            System.arraycopy(batch, 0, elements, size, batch.length);
+            size += batch.length;
+        } else {
+            for (E e : src)
+                push(e);
+        }
+    }
+
+    /**
+     * Desapila todos los elementos en orden LIFO hacia {@code dst} y devuelve
+     * el arreglo a su capacidad inicial.
+     */
+    @SuppressWarnings("unchecked")
+    public void popAll(Collection<? super E> dst) {
+        for (int i = size - 1; i >= 0; i--)
+            dst.add(elements[i]);
+        size = 0;
+        if (shrinkDivisor != 0 && elements.length > initialCapacity)
+            elements = (E[]) new Object[initialCapacity];
+        else
+            Arrays.fill(elements, null);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (elements.length < minCapacity)
+            elements = Arrays.copyOf(elements, Math.max(2 * elements.length + 1, minCapacity));
+    }
+
+    private void shrinkIfSparse() {
+        if (shrinkDivisor == 0 || elements.length <= initialCapacity)
+            return;
+        if (size < elements.length / shrinkDivisor)
+            elements = Arrays.copyOf(elements, Math.max(elements.length / 2, initialCapacity));
+    }
+}
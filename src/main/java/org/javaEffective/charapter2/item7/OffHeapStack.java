@@ -0,0 +1,167 @@
+package org.javaEffective.charapter2.item7;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+
+/**
+ * Pila de registros de ancho fijo guardados fuera del heap en segmentos de
+ * {@link ByteBuffer#allocateDirect}. El heap solo contiene los descriptores de
+ * los segmentos, así que el recolector no recorre los datos.
+ * <p>
+ * Igual que en {@link Stack}, la pila gestiona su propia memoria (Item 7): al
+ * vaciarse suelta las referencias a los segmentos sobrantes, y {@link #close()}
+ * a todos. Eso no libera la memoria nativa en ese momento: la de un buffer
+ * directo se devuelve cuando el recolector lo encuentra inalcanzable y ejecuta
+ * su {@code Cleaner}, que puede ser mucho más tarde (Item 8).
+ */
+public class OffHeapStack implements AutoCloseable {
+    private static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private long size = 0;
+    private boolean closed = false;
+
+    public OffHeapStack(int recordSize) {
+        this(recordSize, Math.max(1, DEFAULT_SEGMENT_BYTES / Math.max(1, recordSize)));
+    }
+
+    public OffHeapStack(int recordSize, int recordsPerSegment) {
+        if (recordSize < 1)
+            throw new IllegalArgumentException("recordSize must be positive: " + recordSize);
+        if (recordsPerSegment < 1 || (long) recordSize * recordsPerSegment > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("invalid recordsPerSegment: " + recordsPerSegment);
+        this.recordSize = recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+    }
+
+    /**
+     * Copia {@code recordSize} bytes desde la posición actual de {@code src}
+     * y avanza esa posición.
+     */
+    public void push(ByteBuffer src) {
+        if (src.remaining() < recordSize)
+            throw new IllegalArgumentException("record needs " + recordSize + " bytes, got " + src.remaining());
+        ByteBuffer segment = segmentForPush();
+        segment.put(offset(size), src, src.position(), recordSize);
+        src.position(src.position() + recordSize);
+        size++;
+    }
+
+    /**
+     * Copia el registro de la cima en {@code dst} a partir de su posición actual.
+     */
+    public void pop(ByteBuffer dst) {
+        if (dst.remaining() < recordSize)
+            throw new IllegalArgumentException("record needs " + recordSize + " bytes, got " + dst.remaining());
+        dst.put(dst.position(), topSegment(), offset(size - 1), recordSize);
+        dst.position(dst.position() + recordSize);
+        removeTop();
+    }
+
+    public void pushLong(long value) {
+        checkWidth(Long.BYTES);
+        segmentForPush().putLong(offset(size), value);
+        size++;
+    }
+
+    public long popLong() {
+        checkWidth(Long.BYTES);
+        long value = topSegment().getLong(offset(size - 1));
+        removeTop();
+        return value;
+    }
+
+    public void pushInt(int value) {
+        checkWidth(Integer.BYTES);
+        segmentForPush().putInt(offset(size), value);
+        size++;
+    }
+
+    public int popInt() {
+        checkWidth(Integer.BYTES);
+        int value = topSegment().getInt(offset(size - 1));
+        removeTop();
+        return value;
+    }
+
+    public void pushDouble(double value) {
+        checkWidth(Double.BYTES);
+        segmentForPush().putDouble(offset(size), value);
+        size++;
+    }
+
+    public double popDouble() {
+        checkWidth(Double.BYTES);
+        double value = topSegment().getDouble(offset(size - 1));
+        removeTop();
+        return value;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Suelta todos los segmentos; su memoria nativa se devuelve cuando el
+     * recolector los reclame, no al volver de este método.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        segments.clear();
+        size = 0;
+    }
+
+    private ByteBuffer segmentForPush() {
+        ensureOpen();
+        int index = (int) (size / recordsPerSegment);
+        if (index == segments.size())
+            segments.add(ByteBuffer.allocateDirect(recordSize * recordsPerSegment)
+                    .order(ByteOrder.nativeOrder()));
+        return segments.get(index);
+    }
+
+    // Segmento que contiene el tope; size solo se decrementa, con removeTop(),
+    // cuando el registro ya se copió, así un fallo al copiar no lo pierde
+    private ByteBuffer topSegment() {
+        ensureOpen();
+        if (size == 0)
+            throw new EmptyStackException();
+        return segments.get((int) ((size - 1) / recordsPerSegment));
+    }
+
+    // Conserva un segmento vacío de reserva para no asignar y liberar en el borde
+    private void removeTop() {
+        size--;
+        int inUse = (int) ((size + recordsPerSegment - 1) / recordsPerSegment);
+        while (segments.size() > inUse + 1)
+            segments.remove(segments.size() - 1);
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerSegment) * recordSize;
+    }
+
+    private void checkWidth(int bytes) {
+        if (recordSize != bytes)
+            throw new IllegalStateException("record size is " + recordSize + " bytes, not " + bytes);
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("stack is closed");
+    }
+}
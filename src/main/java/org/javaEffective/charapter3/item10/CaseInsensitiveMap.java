@@ -0,0 +1,174 @@
+package org.javaEffective.charapter3.item10;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa con claves de texto que no distingue mayúsculas, con la misma igualdad
+ * que {@link CaseInsensitiveString}. Las búsquedas aceptan cualquier
+ * {@link CharSequence}, así que no hace falta envolver la clave en cada consulta.
+ * <p>
+ * Usa direccionamiento abierto con sondeo lineal sobre arreglos paralelos: las
+ * claves se guardan como {@code String} junto a su hash normalizado, que se
+ * compara antes de mirar los caracteres. No es seguro para uso concurrente.
+ */
+public class CaseInsensitiveMap<V> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int MAX_LOAD_PERCENT = 60;
+
+    private String[] keys;
+    private int[] hashes;
+    private Object[] values;
+    private int size = 0;
+    private int shift;
+
+    public CaseInsensitiveMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public CaseInsensitiveMap(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public V get(CharSequence key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(CharSequence key, V defaultValue) {
+        int slot = find(key, CaseInsensitiveString.foldedHash(key));
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    public boolean containsKey(CharSequence key) {
+        return find(key, CaseInsensitiveString.foldedHash(key)) >= 0;
+    }
+
+    /**
+     * Si la clave ya existe se conserva su variante de mayúsculas original y solo
+     * se reemplaza el valor.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(CharSequence key, V value) {
+        Objects.requireNonNull(key);
+        int hash = CaseInsensitiveString.foldedHash(key);
+        int mask = keys.length - 1;
+        for (int i = indexFor(hash); ; i = (i + 1) & mask) {
+            String k = keys[i];
+            if (k == null) {
+                keys[i] = key.toString();
+                hashes[i] = hash;
+                values[i] = value;
+                if (++size * 100 > keys.length * MAX_LOAD_PERCENT)
+                    resize(keys.length * 2);
+                return null;
+            }
+            if (hashes[i] == hash && CaseInsensitiveString.equalsIgnoreCase(k, key)) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(CharSequence key) {
+        int slot = find(key, CaseInsensitiveString.foldedHash(key));
+        if (slot < 0)
+            return null;
+        V old = (V) values[slot];
+        deleteSlot(slot);
+        size--;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<String, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null); // Eliminate obsolete references
+        size = 0;
+    }
+
+    private int find(CharSequence key, int hash) {
+        int mask = keys.length - 1;
+        for (int i = indexFor(hash); ; i = (i + 1) & mask) {
+            String k = keys[i];
+            if (k == null)
+                return -1;
+            if (hashes[i] == hash && CaseInsensitiveString.equalsIgnoreCase(k, key))
+                return i;
+        }
+    }
+
+    // Borrado por desplazamiento hacia atrás: no deja lápidas en la tabla
+    private void deleteSlot(int hole) {
+        int mask = keys.length - 1;
+        for (int j = (hole + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = indexFor(hashes[j]);
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keys[hole] = keys[j];
+                hashes[hole] = hashes[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = null;
+    }
+
+    // Hashing de Fibonacci: reparte bien hashes de texto parecidos
+    private int indexFor(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null)
+                continue;
+            int i = indexFor(oldHashes[j]);
+            while (keys[i] != null)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            hashes[i] = oldHashes[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        values = new Object[capacity];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_INITIAL_CAPACITY, (long) expectedSize * 100 / MAX_LOAD_PERCENT + 1);
+        if (needed > 1 << 30)
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
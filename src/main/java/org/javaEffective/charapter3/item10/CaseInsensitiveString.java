@@ -2,13 +2,28 @@ package org.javaEffective.charapter3.item10;
 
 import java.util.Objects;
 
-public final class CaseInsensitiveString {
+public final class CaseInsensitiveString implements Comparable<CaseInsensitiveString> {
+    private static final WeakInterner<CaseInsensitiveString> POOL = new WeakInterner<>();
+
     private final String value;
 
+    // Cache del hash, igual que String.hash; hashIsZero distingue un hash 0 ya calculado
+    private int hash;
+    private boolean hashIsZero;
+
     public CaseInsensitiveString(String s) {
         this.value = Objects.requireNonNull(s);
     }
 
+    /**
+     * Fábrica estática (Item 1) que devuelve una instancia compartida para cada
+     * valor, sin distinguir mayúsculas: la primera variante registrada es la que
+     * se conserva. Las instancias obtenidas así pueden compararse con {@code ==}.
+     */
+    public static CaseInsensitiveString of(String s) {
+        return POOL.intern(new CaseInsensitiveString(s));
+    }
+
     // Broken - violates symmetry!
     //@Override
     public boolean equalsNotCorrect(Object o) {
@@ -18,7 +33,112 @@ public final class CaseInsensitiveString {
     // Remainder omitted
     @Override
     public boolean equals(Object o) {
-        return o instanceof CaseInsensitiveString &&
-                ((CaseInsensitiveString) o).value.equalsIgnoreCase(this.value);
+        if (o == this)
+            return true;
+        if (!(o instanceof CaseInsensitiveString cis))
+            return false;
+        // Hashes distintos implican valores distintos; solo se usa si ya están calculados
+        if (hash != 0 && cis.hash != 0 && hash != cis.hash)
+            return false;
+        return cis.value.equalsIgnoreCase(this.value);
+    }
+
+    /**
+     * Consistente con {@link String#equalsIgnoreCase}: se calcula sobre cada
+     * carácter normalizado y se guarda la primera vez (Item 11).
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = foldedHash(value);
+            if (h == 0)
+                hashIsZero = true;
+            else
+                hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Mismo orden que {@link String#CASE_INSENSITIVE_ORDER} (Item 14); mientras
+     * ambos caracteres son ASCII se comparan sin pasar por {@link Character}.
+     */
+    @Override
+    public int compareTo(CaseInsensitiveString cis) {
+        String a = value;
+        String b = cis.value;
+        int n = Math.min(a.length(), b.length());
+        for (int i = 0; i < n; i++) {
+            char c1 = a.charAt(i);
+            char c2 = b.charAt(i);
+            if (c1 == c2)
+                continue;
+            if (c1 >= 0x80 || c2 >= 0x80)
+                return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+            c1 = toLowerAscii(c1);
+            c2 = toLowerAscii(c2);
+            if (c1 != c2)
+                return c1 - c2;
+        }
+        return a.length() - b.length();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    /**
+     * Hash de {@code s} con las mayúsculas normalizadas como lo hace
+     * {@link String#equalsIgnoreCase}: dos cadenas iguales sin distinguir
+     * mayúsculas tienen el mismo hash.
+     */
+    static int foldedHash(CharSequence s) {
+        int h = 0;
+        int length = s.length();
+        for (int i = 0; i < length; ) {
+            char c = s.charAt(i);
+            int folded;
+            if (c < 0x80) {
+                folded = toLowerAscii(c);
+                i++;
+            } else {
+                int cp = Character.codePointAt(s, i);
+                folded = Character.toLowerCase(Character.toUpperCase(cp));
+                i += Character.charCount(cp);
+            }
+            h = 31 * h + folded;
+        }
+        return h;
+    }
+
+    /**
+     * {@link String#equalsIgnoreCase} contra cualquier {@link CharSequence}, sin
+     * convertirla a {@code String} salvo ante pares sustitutos.
+     */
+    static boolean equalsIgnoreCase(String s, CharSequence cs) {
+        if (cs instanceof String other)
+            return s.equalsIgnoreCase(other);
+        int length = s.length();
+        if (length != cs.length())
+            return false;
+        for (int i = 0; i < length; i++) {
+            char c1 = s.charAt(i);
+            char c2 = cs.charAt(i);
+            if (c1 == c2)
+                continue;
+            if (Character.isSurrogate(c1) || Character.isSurrogate(c2))
+                return s.equalsIgnoreCase(cs.toString());
+            char u1 = Character.toUpperCase(c1);
+            char u2 = Character.toUpperCase(c2);
+            if (u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2))
+                return false;
+        }
+        return true;
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
     }
 }
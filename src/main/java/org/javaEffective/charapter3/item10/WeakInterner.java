@@ -0,0 +1,68 @@
+package org.javaEffective.charapter3.item10;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto de instancias canónicas con referencias débiles: una instancia se
+ * conserva solo mientras alguien fuera del pool la use, y las entradas cuyo
+ * valor ya fue recolectado se eliminan en la siguiente llamada (Item 7).
+ */
+final class WeakInterner<T> {
+    private final ConcurrentHashMap<Entry<T>, Entry<T>> pool = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    private static final class Entry<T> extends WeakReference<T> {
+        private final int hash;
+
+        Entry(T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.hash = referent.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (!(o instanceof Entry<?> other) || hash != other.hash)
+                return false;
+            Object referent = get();
+            return referent != null && referent.equals(other.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Devuelve la instancia canónica igual a {@code candidate}, registrando
+     * {@code candidate} como canónica si no había ninguna.
+     */
+    T intern(T candidate) {
+        expungeStaleEntries();
+        Entry<T> entry = new Entry<>(candidate, queue);
+        while (true) {
+            Entry<T> existing = pool.putIfAbsent(entry, entry);
+            if (existing == null)
+                return candidate;
+            T canonical = existing.get();
+            if (canonical != null)
+                return canonical;
+            pool.remove(existing, existing);
+        }
+    }
+
+    int size() {
+        expungeStaleEntries();
+        return pool.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        for (Object stale; (stale = queue.poll()) != null; )
+            pool.remove((Entry<T>) stale, stale);
+    }
+}
@@ -0,0 +1,159 @@
+package org.javaEffective.CreationalPatternsCourse.SimpleFactory;
+
+import CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test parallel post ingestion")
+class PostIngestionPipelineTest {
+    private static FeedRecord record(int i) {
+        return switch (i % 3) {
+            case 0 -> new FeedRecord("blog", Map.of("id", Integer.toString(i), "title", "blog " + i,
+                    "author", "victor", "tags", "uno,dos"));
+            case 1 -> new FeedRecord("news", Map.of("id", Integer.toString(i), "headline", "news " + i,
+                    "newsTime", "2024-05-06"));
+            default -> new FeedRecord("product", Map.of("id", Integer.toString(i), "name", "product " + i,
+                    "createdOn", "2024-05-06T10:15:30"));
+        };
+    }
+
+    @Test
+    void everyRecordBecomesAPost() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        try (PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder()
+                .parallelism(4)
+                .batchSize(100)
+                .build()) {
+            long count = pipeline.ingest(IntStream.range(0, 10_050).mapToObj(PostIngestionPipelineTest::record),
+                    posts -> posts.forEach(post -> assertTrue(ids.add(post.getId()))));
+            assertEquals(10_050L, count);
+        }
+        assertEquals(10_050, ids.size());
+    }
+
+    @Test
+    void postsArePopulated() {
+        try (PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder().build()) {
+            BlogPost blog = (BlogPost) pipeline.toPost(record(0));
+            assertEquals(Long.valueOf(0), blog.getId());
+            assertEquals("victor", blog.getAuthor());
+            assertArrayEquals(new String[]{"uno", "dos"}, blog.getTags());
+
+            NewsPost news = (NewsPost) pipeline.toPost(record(1));
+            assertEquals("news 1", news.getHeadline());
+            assertEquals(LocalDate.of(2024, 5, 6), news.getNewsTime());
+
+            ProductPost product = (ProductPost) pipeline.toPost(record(2));
+            assertEquals("product 2", product.getName());
+            assertEquals(2024, product.getCreatedOn().getYear());
+        }
+    }
+
+    @Test
+    void readerBlocksWhenBatchesPileUp() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger read = new AtomicInteger();
+        Iterator<FeedRecord> source = Stream.generate(() -> record(read.getAndIncrement())).limit(1000).iterator();
+        try (PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder()
+                .parallelism(2)
+                .batchSize(10)
+                .maxInFlightBatches(2)
+                .build()) {
+            AtomicLong count = new AtomicLong();
+            Thread reader = new Thread(() -> {
+                try {
+                    count.set(pipeline.ingest(source, posts -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            reader.start();
+            TimeUnit.MILLISECONDS.sleep(200);
+            // Two batches in flight plus the one waiting for a permit
+            assertTrue(read.get() <= 30, "read " + read.get());
+            release.countDown();
+            reader.join();
+            assertEquals(1000L, count.get());
+        }
+    }
+
+    @Test
+    void firstFailureIsRethrown() {
+        List<FeedRecord> records = List.of(record(0), new FeedRecord("podcast", Map.of()), record(2));
+        try (PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder().batchSize(1).build()) {
+            assertThrows(IllegalArgumentException.class, () -> pipeline.ingest(records.stream(), posts -> {
+            }));
+        }
+    }
+
+    @Test
+    void sourceFailureWaitsForSubmittedBatches() {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<FeedRecord> source = Stream.generate(() -> {
+            int i = read.getAndIncrement();
+            if (i == 50)
+                throw new IllegalStateException("source failed");
+            return record(i);
+        }).iterator();
+        AtomicInteger finished = new AtomicInteger();
+        try (PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder()
+                .parallelism(2)
+                .batchSize(10)
+                .build()) {
+            assertThrows(IllegalStateException.class, () -> pipeline.ingest(source, posts -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.incrementAndGet();
+            }));
+            assertEquals(5, finished.get());
+        }
+    }
+
+    @Test
+    void ingestAfterCloseFails() {
+        PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder().batchSize(1).build();
+        pipeline.close();
+        assertThrows(IllegalStateException.class, () -> pipeline.ingest(Stream.of(record(0), record(1)), posts -> {
+        }));
+    }
+
+    @Test
+    void checkedSinkFailureIsRethrown() {
+        try (PostIngestionPipeline pipeline = new PostIngestionPipeline.Builder().batchSize(1).build()) {
+            CompletionException e = assertThrows(CompletionException.class,
+                    () -> pipeline.ingest(Stream.of(record(0)), posts -> sneakyThrow(new IOException("disk full"))));
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> void sneakyThrow(Throwable t) throws T {
+        throw (T) t;
+    }
+}
@@ -0,0 +1,68 @@
+package org.javaEffective.CreationalPatternsCourse.SimpleFactory;
+
+import CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test registry-based post factory")
+class PostRegistryTest {
+    public static class VideoPost extends Post {
+        private final String source;
+
+        public VideoPost() {
+            this("upload");
+        }
+
+        VideoPost(String source) {
+            this.source = source;
+        }
+
+        String getSource() {
+            return source;
+        }
+    }
+
+    @Test
+    void defaultTypes() {
+        assertInstanceOf(BlogPost.class, PostFactory.createPost("blog"));
+        assertInstanceOf(NewsPost.class, PostFactory.createPost("news"));
+        assertInstanceOf(ProductPost.class, PostFactory.createPost("product"));
+        BlogPost blogPost = GenericPostFactory.createPost(BlogPost.class);
+        assertNotNull(blogPost);
+        ProductPost productPost = PostRegistry.getDefault().createPost(PostType.PRODUCT);
+        assertNotNull(productPost);
+        assertNotSame(productPost, PostRegistry.getDefault().createPost(PostType.PRODUCT));
+    }
+
+    @Test
+    void unknownTypes() {
+        assertThrows(IllegalArgumentException.class, () -> PostFactory.createPost("podcast"));
+        assertThrows(IllegalArgumentException.class, () -> GenericPostFactory.createPost(Post.class));
+    }
+
+    @Test
+    void registerNewType() {
+        PostRegistry registry = PostRegistry.withDefaults();
+        assertThrows(IllegalArgumentException.class, () -> registry.createPost(VideoPost.class));
+
+        registry.register("video", VideoPost.class, () -> new VideoPost("stream"));
+        assertEquals("stream", registry.createPost(VideoPost.class).getSource());
+        assertInstanceOf(VideoPost.class, registry.createPost("video"));
+
+        // Re-registering replaces the supplier, also for lookups already cached by class
+        registry.register(PostType.of("video", VideoPost.class), VideoPost::new);
+        assertEquals("upload", registry.createPost(VideoPost.class).getSource());
+
+        // Registrations are per registry
+        assertThrows(IllegalArgumentException.class, () -> PostRegistry.withDefaults().createPost("video"));
+    }
+
+    @Test
+    void tokensAreInterned() {
+        assertSame(PostType.BLOG, PostType.named("blog"));
+        assertSame(PostType.BLOG, PostType.of("blog", BlogPost.class));
+        assertThrows(IllegalArgumentException.class, () -> PostType.of("blog", NewsPost.class));
+    }
+}
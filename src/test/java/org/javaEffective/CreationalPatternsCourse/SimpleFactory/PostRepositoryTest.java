@@ -0,0 +1,156 @@
+package org.javaEffective.CreationalPatternsCourse.SimpleFactory;
+
+import CreationalPatternsCourse.SimpleFactory.coffeepoweredcrew.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test indexed post repository")
+class PostRepositoryTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 6, 10, 0);
+
+    private PostRepository repository;
+
+    private static BlogPost blog(long id, String author, String... tags) {
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setAuthor(author);
+        post.setTags(tags);
+        post.setCreatedOn(T0.plusHours(id));
+        post.setPublishedOn(T0.plusDays(id));
+        return post;
+    }
+
+    private static NewsPost news(long id, LocalDate newsTime) {
+        NewsPost post = new NewsPost();
+        post.setId(id);
+        post.setNewsTime(newsTime);
+        return post;
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new PostRepository();
+    }
+
+    @Test
+    void findByIdAndIndexes() {
+        BlogPost one = blog(1, "victor", "java", "jmh");
+        BlogPost two = blog(2, "ana", "java");
+        NewsPost three = news(3, LocalDate.of(2024, 1, 15));
+        repository.save(one);
+        repository.save(two);
+        repository.save(three);
+
+        assertSame(two, repository.findById(2));
+        assertNull(repository.findById(4));
+        assertEquals(3, repository.size());
+        assertEquals(List.of(one, two), repository.findByTag("java"));
+        assertEquals(List.of(one), repository.findByTag("jmh"));
+        assertEquals(List.of(two), repository.findByAuthor("ana"));
+        assertTrue(repository.findByTag("kotlin").isEmpty());
+        assertEquals(List.of(one, two), repository.findCreatedBetween(T0, T0.plusHours(2)));
+        assertEquals(List.of(two), repository.findPublishedBetween(T0.plusDays(2), T0.plusDays(30)));
+        assertEquals(List.of(three), repository.findNewsBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        assertTrue(repository.findNewsBetween(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)).isEmpty());
+    }
+
+    @Test
+    void saveReplacesAndRemoveUnindexes() {
+        BlogPost original = blog(1, "victor", "java");
+        repository.save(original);
+        // The post changes after being saved; the old index entries must still go away
+        original.setTags(new String[]{"poetry"});
+        BlogPost replacement = blog(1, "ana", "music");
+        assertSame(original, repository.save(replacement));
+
+        assertTrue(repository.findByTag("java").isEmpty());
+        assertTrue(repository.findByAuthor("victor").isEmpty());
+        assertEquals(List.of(replacement), repository.findByTag("music"));
+
+        assertSame(replacement, repository.remove(1));
+        assertNull(repository.remove(1));
+        assertNull(repository.findById(1));
+        assertTrue(repository.findByAuthor("ana").isEmpty());
+        assertTrue(repository.findCreatedBetween(T0, T0.plusDays(1)).isEmpty());
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    void sameInstanceIsStoredUnderOneId() {
+        BlogPost post = blog(1, "victor", "java");
+        repository.save(post);
+        post.setId(2L);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(post));
+        assertNull(repository.findById(2));
+        assertEquals(List.of(post), repository.findByAuthor("victor"));
+
+        repository.remove(1);
+        assertNull(repository.save(post));
+        assertSame(post, repository.findById(2));
+        assertEquals(List.of(post), repository.findByTag("java"));
+    }
+
+    @Test
+    void manyIdsSurviveResizeAndRemoval() {
+        for (long id = -5000; id < 5000; id++) {
+            repository.save(news(id * 7919, null));
+        }
+        for (long id = -5000; id < 5000; id += 2) {
+            assertNotNull(repository.remove(id * 7919));
+        }
+        assertEquals(5000, repository.size());
+        for (long id = -5000; id < 5000; id++) {
+            Post post = repository.findById(id * 7919);
+            if ((id & 1) == 0) {
+                assertNull(post);
+            } else {
+                assertEquals(Long.valueOf(id * 7919), post.getId());
+            }
+        }
+    }
+
+    @Test
+    void readersRunWhileWriterSaves() throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        for (long id = 0; id < 2000; id += 97) {
+                            Post post = repository.findById(id);
+                            if (post != null && post.getId() != id) {
+                                throw new AssertionError("wrong post for id " + id);
+                            }
+                        }
+                        repository.findByTag("java");
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            readers[r].start();
+        }
+        for (long id = 0; id < 20_000; id++) {
+            repository.save(blog(id % 2000, "victor", "java"));
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(2000, repository.size());
+        assertEquals(2000, repository.findByTag("java").size());
+    }
+}
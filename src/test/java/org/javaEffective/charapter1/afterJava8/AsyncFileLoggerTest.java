@@ -0,0 +1,98 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncFileLoggerTest {
+    @Test
+    public void testAllMessagesWrittenInOrderPerThread() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("async", ".log");
+        try {
+            int threads = 4;
+            int perThread = 10_000;
+            try (AsyncFileLogger logger = new AsyncFileLogger(file, 64)) {
+                Thread[] workers = new Thread[threads];
+                for (int t = 0; t < threads; t++) {
+                    int id = t;
+                    workers[t] = new Thread(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            logger.log(id + ":" + i);
+                        }
+                    });
+                    workers[t].start();
+                }
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                logger.flush();
+                assertEquals(threads * perThread, Files.readAllLines(file).size());
+            }
+
+            List<String> lines = Files.readAllLines(file);
+            int[] next = new int[threads];
+            for (String line : lines) {
+                String[] parts = line.split(":");
+                int id = Integer.parseInt(parts[0]);
+                assertEquals(next[id]++, Integer.parseInt(parts[1]));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testUtf8AndClosedLogger() throws IOException {
+        Path file = Files.createTempFile("async", ".log");
+        try {
+            AsyncFileLogger logger = new AsyncFileLogger(file);
+            logger.log("compañera");
+            logger.log("x".repeat(200_000));
+            logger.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals("compañera", lines.get(0));
+            assertEquals(200_000, lines.get(1).length());
+            assertThrows(IllegalStateException.class, () -> logger.log("late"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMessagesAcceptedWhileClosingAreWritten() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("async", ".log");
+        try {
+            AsyncFileLogger logger = new AsyncFileLogger(file, 16);
+            AtomicInteger accepted = new AtomicInteger();
+            Thread[] workers = new Thread[4];
+            for (int t = 0; t < workers.length; t++) {
+                workers[t] = new Thread(() -> {
+                    try {
+                        while (true) {
+                            logger.log("x");
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException expected) {
+                        // El logger se cerró
+                    }
+                });
+                workers[t].start();
+            }
+            Thread.sleep(20);
+            logger.close();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            assertEquals(accepted.get(), Files.readAllLines(file).size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.javaEffective.charapter1.afterJava8.Logger.Level.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryLoggerTest {
+    @Test
+    public void testDecodedTextMatchesTextLogger() throws IOException {
+        Path file = Files.createTempFile("binary", ".blog");
+        try {
+            List<String> expected = new ArrayList<>();
+            Logger text = expected::add;
+            try (BinaryLogger binary = Loggers.getBinaryLogger(file)) {
+                for (Logger logger : List.of(text, binary)) {
+                    logger.log("plain message");
+                    logger.log(INFO, "user {} logged in", "ron");
+                    logger.log(WARN, "{} took {} ms", "query", 42L);
+                    logger.log(ERROR, "{}/{}/{} {}", 1, 2.5, null, "ñ");
+                    logger.log(DEBUG, "count={}", 7);
+                    logger.log(DEBUG, "bytes={}", 1L << 40);
+                    logger.log(TRACE, "ratio={}", 0.25);
+                    logger.log(INFO, () -> "x".repeat(100_000));
+                    for (int i = 0; i < 5_000; i++) {
+                        logger.log(INFO, "iteration {}", i);
+                    }
+                }
+            }
+
+            StringBuilder decoded = new StringBuilder();
+            BinaryLogDecoder.decode(file, decoded);
+            String[] lines = decoded.toString().split("\n");
+
+            assertEquals(expected.size(), lines.length);
+            for (int i = 0; i < lines.length; i++) {
+                assertEquals(expected.get(i), lines[i].substring(lines[i].indexOf(' ') + 1));
+            }
+            assertTrue(Files.size(file) < decoded.length());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMinimumLevel() throws IOException {
+        Path file = Files.createTempFile("binary", ".blog");
+        try {
+            try (BinaryLogger binary = new BinaryLogger(file, WARN)) {
+                binary.log(INFO, "dropped {}", 1);
+                binary.log(ERROR, "kept {}", 2);
+                binary.log("raw message");
+            }
+            StringBuilder decoded = new StringBuilder();
+            BinaryLogDecoder.decode(file, decoded);
+            String[] lines = decoded.toString().split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].endsWith(" [ERROR] kept 2"));
+            assertTrue(lines[1].endsWith(" raw message"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testTemplatesBeyondLimitAreWrittenAsText() throws IOException {
+        Path file = Files.createTempFile("binary", ".blog");
+        try {
+            List<String> expected = new ArrayList<>();
+            Logger text = expected::add;
+            try (BinaryLogger binary = new BinaryLogger(file, TRACE, 2)) {
+                for (Logger logger : List.of(text, binary)) {
+                    for (int i = 0; i < 3; i++) {
+                        logger.log(INFO, "user " + i + " has {} posts", i);
+                        logger.log(WARN, "id " + i + ": {}", (long) i);
+                        logger.log(ERROR, "ratio " + i + ": {}", i / 4.0);
+                        logger.log(DEBUG, "pair " + i + ": {} {}", "a", null);
+                    }
+                }
+            }
+
+            StringBuilder decoded = new StringBuilder();
+            BinaryLogDecoder.decode(file, decoded);
+            String[] lines = decoded.toString().split("\n");
+
+            assertEquals(expected.size(), lines.length);
+            for (int i = 0; i < lines.length; i++) {
+                assertEquals(expected.get(i), lines[i].substring(lines[i].indexOf(' ') + 1));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFloatArgumentKeepsItsText() throws IOException {
+        Path file = Files.createTempFile("binary", ".blog");
+        try {
+            try (BinaryLogger binary = new BinaryLogger(file)) {
+                binary.log(INFO, "ratio={}", (Object) 0.1f);
+            }
+            StringBuilder decoded = new StringBuilder();
+            BinaryLogDecoder.decode(file, decoded);
+            assertTrue(decoded.toString().endsWith(" [INFO] ratio=0.1\n"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCorruptLevelIsReported() throws IOException {
+        ByteBuffer log = ByteBuffer.allocate(64)
+                .putInt(BinaryLogger.MAGIC).put(BinaryLogger.VERSION)
+                .put(BinaryLogger.TEMPLATE).putInt(0).putInt(2).put((byte) '{').put((byte) '}')
+                .put(BinaryLogger.EVENT).putLong(0L).put((byte) 42).putInt(0).put((byte) 0);
+        InputStream in = new ByteArrayInputStream(log.array(), 0, log.position());
+
+        IOException e = assertThrows(IOException.class, () -> BinaryLogDecoder.decode(in, new StringBuilder()));
+        assertTrue(e.getMessage().contains("level 42"));
+    }
+}
@@ -0,0 +1,99 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerMetricsTest {
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        long p50 = histogram.percentile(0.50);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.07, "p50 " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+        assertEquals(1_000_000, histogram.percentile(1.0));
+    }
+
+    @Test
+    public void testBucketsCoverWholeRange() {
+        long[] values = {0, 1, 31, 32, 33, 1000, 1L << 40, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexFor(value);
+            assertTrue(LatencyHistogram.upperBound(index) >= value, "value " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.upperBound(index - 1) < value, "value " + value);
+            }
+        }
+    }
+
+    @Test
+    public void testWrittenAndDroppedAccountForEveryRecord() throws IOException {
+        Path file = Files.createTempFile("metrics", ".log");
+        try {
+            int total = 100_000;
+            LoggerMetrics.Snapshot snapshot;
+            try (AsyncFileLogger logger = new AsyncFileLogger(file, 2, AsyncFileLogger.OverflowPolicy.DROP)) {
+                for (int i = 0; i < total; i++) {
+                    logger.log("record " + i);
+                }
+                logger.flush();
+                snapshot = logger.metrics().snapshot();
+            }
+            assertEquals(total, snapshot.recordsWritten() + snapshot.recordsDropped());
+            assertEquals(snapshot.recordsWritten(), Files.readAllLines(file).size());
+            assertEquals(0, snapshot.queueDepth());
+            assertEquals(2, snapshot.queueCapacity());
+            assertTrue(snapshot.latencyP50Nanos() <= snapshot.latencyP99Nanos());
+            assertTrue(snapshot.latencyP999Nanos() <= snapshot.latencyMaxNanos());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testBlockingPolicyNeverDrops() throws IOException {
+        Path file = Files.createTempFile("metrics", ".log");
+        try (AsyncFileLogger logger = new AsyncFileLogger(file, 2)) {
+            for (int i = 0; i < 10_000; i++) {
+                logger.log("record " + i);
+            }
+            logger.flush();
+            assertEquals(10_000, logger.metrics().getRecordsWritten());
+            assertEquals(0, logger.metrics().getRecordsDropped());
+            assertTrue(logger.metrics().getLatencyMaxNanos() > 0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReadableThroughJmx() throws Exception {
+        Path file = Files.createTempFile("metrics", ".log");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name;
+        try (AsyncFileLogger logger = new AsyncFileLogger(file)) {
+            name = logger.metrics().registerMBean("test-" + System.nanoTime());
+            logger.log("hola");
+            logger.flush();
+            assertTrue(server.isRegistered(name));
+            assertEquals(1L, server.getAttribute(name, "RecordsWritten"));
+            assertEquals(0L, server.getAttribute(name, "RecordsDropped"));
+        } finally {
+            Files.delete(file);
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
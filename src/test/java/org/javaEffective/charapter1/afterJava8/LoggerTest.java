@@ -0,0 +1,51 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.javaEffective.charapter1.afterJava8.Logger.Level.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerTest {
+    @Test
+    public void testTemplatesAndPrimitiveOverloads() {
+        List<String> lines = new ArrayList<>();
+        Logger logger = lines::add;
+
+        logger.log(INFO, "user {} logged in", "ron");
+        logger.log(WARN, "{} took {} ms", "query", 42L);
+        logger.log(ERROR, "{}/{}/{}", 1, 2, 3);
+        logger.log(DEBUG, "count={}", 7);
+        logger.log(DEBUG, "ratio={} of {}", 0.5);
+        logger.log(TRACE, "no placeholders", "ignored");
+        logger.log(INFO, () -> "lazy");
+
+        assertEquals(List.of(
+                "[INFO] user ron logged in",
+                "[WARN] query took 42 ms",
+                "[ERROR] 1/2/3",
+                "[DEBUG] count=7",
+                "[DEBUG] ratio=0.5 of {}",
+                "[TRACE] no placeholders",
+                "[INFO] lazy"), lines);
+    }
+
+    @Test
+    public void testDisabledLevelSkipsFormatting() {
+        List<String> lines = new ArrayList<>();
+        Logger logger = Logger.withMinimumLevel(WARN, lines::add);
+
+        assertFalse(logger.isEnabled(INFO));
+        assertTrue(logger.isEnabled(ERROR));
+        logger.log(INFO, () -> {
+            throw new AssertionError("supplier must not run");
+        });
+        logger.log(DEBUG, "value {}", 1);
+        logger.log(ERROR, "value {}", 2);
+        logger.log("raw");
+
+        assertEquals(List.of("[ERROR] value 2", "raw"), lines);
+    }
+}
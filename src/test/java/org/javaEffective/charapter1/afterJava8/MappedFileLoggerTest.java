@@ -0,0 +1,102 @@
+package org.javaEffective.charapter1.afterJava8;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileLoggerTest {
+    @Test
+    public void testRollsOverAndTruncatesSegments() throws IOException {
+        Path dir = Files.createTempDirectory("mapped-log");
+        try {
+            try (MappedFileLogger logger = new MappedFileLogger.Builder(dir)
+                    .baseName("audit")
+                    .segmentBytes(1024)
+                    .forcePolicy(MappedFileLogger.ForcePolicy.NONE)
+                    .build()) {
+                for (int i = 0; i < 500; i++) {
+                    logger.log("record ñ " + i);
+                }
+            }
+
+            List<Path> segments = segments(dir);
+            assertTrue(segments.size() > 1);
+            List<String> lines = new ArrayList<>();
+            for (Path segment : segments) {
+                assertTrue(Files.size(segment) <= 1024);
+                lines.addAll(Files.readAllLines(segment));
+            }
+            assertEquals(500, lines.size());
+            for (int i = 0; i < 500; i++) {
+                assertEquals("record ñ " + i, lines.get(i));
+            }
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    public void testContinuesAfterExistingSegments() throws IOException {
+        Path dir = Files.createTempDirectory("mapped-log");
+        try {
+            Path first;
+            try (MappedFileLogger logger = Loggers.getMappedFileLogger(dir, 4096, MappedFileLogger.ForcePolicy.EVERY_RECORD)) {
+                logger.log("one");
+                first = logger.currentSegment();
+            }
+            try (MappedFileLogger logger = Loggers.getMappedFileLogger(dir, 4096, MappedFileLogger.ForcePolicy.PERIODIC)) {
+                assertNotEquals(first, logger.currentSegment());
+                logger.log("two");
+                Path second = logger.currentSegment();
+                assertThrows(IllegalArgumentException.class, () -> logger.log("x".repeat(5000)));
+                assertEquals(second, logger.currentSegment());
+                logger.log("x".repeat(4095));
+            }
+            List<Path> segments = segments(dir);
+            assertEquals(3, segments.size());
+            assertEquals(List.of("one"), Files.readAllLines(first));
+            assertEquals(List.of("two"), Files.readAllLines(segments.get(1)));
+            assertEquals(List.of("x".repeat(4095)), Files.readAllLines(segments.get(2)));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    @Test
+    public void testFailedRolloverFailsLaterCalls() throws IOException {
+        Path dir = Files.createTempDirectory("mapped-log");
+        try {
+            try (MappedFileLogger logger = Loggers.getMappedFileLogger(dir, 64, MappedFileLogger.ForcePolicy.NONE)) {
+                // El siguiente segmento ya existe, así que la rotación no puede crearlo
+                Files.createFile(dir.resolve("audit-000002.log"));
+                logger.log("x".repeat(40));
+                assertThrows(UncheckedIOException.class, () -> logger.log("y".repeat(40)));
+                assertThrows(IllegalStateException.class, () -> logger.log("z"));
+            }
+            assertEquals(List.of("x".repeat(40)), Files.readAllLines(dir.resolve("audit-000001.log")));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    private static List<Path> segments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        for (Path file : segments(dir)) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+}
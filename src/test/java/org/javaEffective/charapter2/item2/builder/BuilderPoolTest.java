@@ -0,0 +1,64 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.javaEffective.charapter2.item2.builder.PizzaAbstract.Topping.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuilderPoolTest {
+    @Test
+    public void testResetRestoresDefaults() {
+        NutritionFacts.Builder builder = new NutritionFacts.Builder(240, 8)
+                .calories(100).fat(3).sodium(35).carbohydrate(27);
+        NutritionFacts facts = builder.reset(100, 2).build();
+
+        assertEquals(100, facts.getServingSize());
+        assertEquals(2, facts.getServings());
+        assertEquals(0, facts.getCalories());
+        assertEquals(0, facts.getFat());
+        assertEquals(0, facts.getSodium());
+        assertEquals(0, facts.getCarbohydrate());
+    }
+
+    @Test
+    public void testPooledBuilderIsReusedPerThread() {
+        NutritionFacts.Builder first = BuilderPool.nutritionFacts(240, 8).calories(100);
+        NutritionFacts cocaCola = first.build();
+        NutritionFacts water = BuilderPool.nutritionFacts(500, 1).build();
+
+        assertSame(first, BuilderPool.nutritionFacts(1, 1));
+        assertEquals(100, cocaCola.getCalories());
+        assertEquals(0, water.getCalories());
+        assertEquals(500, water.getServingSize());
+    }
+
+    @Test
+    public void testPizzasDoNotShareToppings() {
+        NyPizza pizza = BuilderPool.nyPizza(NyPizza.Size.SMALL).addTopping(SAUSAGE).addTopping(ONION).build();
+        NyPizza plain = BuilderPool.nyPizza(NyPizza.Size.LARGE).build();
+        Calzone calzone = BuilderPool.calzone().addTopping(HAM).sauceInside().build();
+        Calzone next = BuilderPool.calzone().build();
+
+        assertEquals(EnumSet.of(SAUSAGE, ONION), pizza.getToppings());
+        assertTrue(plain.getToppings().isEmpty());
+        assertEquals(EnumSet.of(HAM), calzone.getToppings());
+        assertTrue(next.getToppings().isEmpty());
+    }
+
+    @Test
+    public void testEachThreadGetsItsOwnBuilder() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<NutritionFacts.Builder> other = executor.submit(() -> BuilderPool.nutritionFacts(1, 1));
+            assertNotSame(BuilderPool.nutritionFacts(1, 1), other.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
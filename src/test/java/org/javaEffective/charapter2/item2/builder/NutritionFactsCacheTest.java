@@ -0,0 +1,65 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NutritionFactsCacheTest {
+    @Test
+    public void testIdenticalValuesShareInstance() {
+        NutritionFactsCache cache = new NutritionFactsCache(16);
+        NutritionFacts a = new NutritionFacts.Builder(240, 8).calories(100).sodium(35).cache(cache).build();
+        NutritionFacts b = new NutritionFacts.Builder(240, 8).sodium(35).calories(100).cache(cache).build();
+        NutritionFacts c = new NutritionFacts.Builder(240, 8).calories(100).sodium(36).cache(cache).build();
+        NutritionFacts uncached = new NutritionFacts.Builder(240, 8).calories(100).sodium(35).build();
+
+        assertSame(a, b);
+        assertNotSame(a, c);
+        assertNotSame(a, uncached);
+        assertEquals(36, c.getSodium());
+        assertEquals(new NutritionFactsCache.Stats(1, 2, 0, 2), cache.stats());
+        assertEquals(1.0 / 3, cache.stats().hitRate(), 1e-9);
+    }
+
+    @Test
+    public void testSizeIsBoundedAndRecentlyUsedSurvive() {
+        NutritionFactsCache cache = new NutritionFactsCache(8);
+        NutritionFacts hot = new NutritionFacts.Builder(1, 1).cache(cache).build();
+        for (int i = 0; i < 1000; i++) {
+            new NutritionFacts.Builder(2, i).cache(cache).build();
+            assertSame(hot, new NutritionFacts.Builder(1, 1).cache(cache).build());
+        }
+        NutritionFactsCache.Stats stats = cache.stats();
+        assertEquals(8, stats.size());
+        assertEquals(1000 - 7, stats.evictions());
+        assertEquals(1000, stats.hits());
+    }
+
+    @Test
+    public void testEvictedValuesAreRebuiltCorrectly() {
+        NutritionFactsCache cache = new NutritionFactsCache(4);
+        List<NutritionFacts> built = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50; i++) {
+                built.add(new NutritionFacts.Builder(i, i % 7).fat(i * 3).carbohydrate(-i).cache(cache).build());
+            }
+        }
+        for (int k = 0; k < built.size(); k++) {
+            int i = k % 50;
+            NutritionFacts facts = built.get(k);
+            assertEquals(i, facts.getServingSize());
+            assertEquals(i % 7, facts.getServings());
+            assertEquals(i * 3, facts.getFat());
+            assertEquals(-i, facts.getCarbohydrate());
+        }
+        assertEquals(4, cache.stats().size());
+    }
+
+    @Test
+    public void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new NutritionFactsCache(0));
+    }
+}
@@ -0,0 +1,75 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.javaEffective.charapter2.item2.builder.NutritionFactsTable.Column.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NutritionFactsTableTest {
+    private static NutritionFactsTable sample(int rows) {
+        NutritionFactsTable table = new NutritionFactsTable(0);
+        for (int i = 0; i < rows; i++) {
+            table.add(BuilderPool.nutritionFacts(240, i % 8)
+                    .calories(i)
+                    .fat(i % 10)
+                    .sodium(-i)
+                    .carbohydrate(27));
+        }
+        return table;
+    }
+
+    @Test
+    public void testAggregations() {
+        NutritionFactsTable table = sample(5000);
+
+        assertEquals(5000, table.size());
+        assertEquals(4999L * 5000 / 2, table.sum(CALORIES));
+        assertEquals(240L * 5000, table.sum(SERVING_SIZE));
+        assertEquals(0, table.min(CALORIES));
+        assertEquals(4999, table.max(CALORIES));
+        assertEquals(-4999, table.min(SODIUM));
+        assertEquals(9, table.max(FAT));
+        assertEquals(27, table.get(CARBOHYDRATE, 1234));
+    }
+
+    @Test
+    public void testFilterAndCount() {
+        NutritionFactsTable table = sample(1000);
+
+        int[] rows = table.filter(CALORIES, 100, 199);
+        assertEquals(100, rows.length);
+        assertEquals(100, table.count(CALORIES, 100, 199));
+        assertEquals(100, rows[0]);
+        assertEquals(199, rows[99]);
+        assertEquals(14950L, table.sum(CALORIES, rows));
+        assertEquals(0, table.filter(FAT, 10, 20).length);
+    }
+
+    @Test
+    public void testMaterializedView() {
+        NutritionFactsTable table = sample(3);
+        List<NutritionFacts> view = table.asList();
+        NutritionFacts facts = view.get(2);
+
+        assertEquals(240, facts.getServingSize());
+        assertEquals(2, facts.getServings());
+        assertEquals(2, facts.getCalories());
+        assertEquals(-2, facts.getSodium());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(facts));
+
+        table.add(new NutritionFacts.Builder(1, 1));
+        assertEquals(4, view.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(4));
+    }
+
+    @Test
+    public void testEmptyTable() {
+        NutritionFactsTable table = new NutritionFactsTable();
+        assertEquals(0L, table.sum(FAT));
+        assertThrows(NoSuchElementException.class, () -> table.min(FAT));
+        assertThrows(NoSuchElementException.class, () -> table.max(FAT));
+    }
+}
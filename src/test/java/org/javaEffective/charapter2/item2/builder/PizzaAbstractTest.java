@@ -0,0 +1,53 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.javaEffective.charapter2.item2.builder.NyPizza.Size.*;
+import static org.javaEffective.charapter2.item2.builder.PizzaAbstract.Topping.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PizzaAbstractTest {
+    @Test
+    public void testToppingsView() {
+        NyPizza pizza = new NyPizza.Builder(SMALL).addTopping(SAUSAGE).addTopping(HAM).addTopping(SAUSAGE).build();
+        Set<PizzaAbstract.Topping> toppings = pizza.getToppings();
+
+        assertEquals(EnumSet.of(HAM, SAUSAGE), toppings);
+        assertEquals(toppings, EnumSet.of(HAM, SAUSAGE));
+        assertEquals(EnumSet.of(HAM, SAUSAGE).hashCode(), toppings.hashCode());
+        assertEquals(List.of(HAM, SAUSAGE), List.copyOf(toppings));
+        assertTrue(toppings.contains(HAM));
+        assertFalse(toppings.contains(ONION));
+        assertFalse(toppings.contains("HAM"));
+        assertSame(toppings, pizza.getToppings());
+        assertThrows(UnsupportedOperationException.class, () -> toppings.add(ONION));
+    }
+
+    @Test
+    public void testBitwiseQueries() {
+        Calzone calzone = new Calzone.BuilderInnerClass().addTopping(ONION).addTopping(PEPPER).build();
+        int onionAndPepper = ONION.bit() | PEPPER.bit();
+
+        assertEquals(2, calzone.toppingCount());
+        assertEquals(onionAndPepper, calzone.toppingMask());
+        assertTrue(calzone.hasAll(onionAndPepper));
+        assertFalse(calzone.hasAll(onionAndPepper | HAM.bit()));
+        assertTrue(calzone.hasAny(HAM.bit() | PEPPER.bit()));
+        assertFalse(calzone.hasAny(HAM.bit() | MUSHROOM.bit()));
+        assertTrue(calzone.hasAll(0));
+        assertTrue(calzone.hasTopping(ONION));
+        assertEquals(onionAndPepper, PizzaAbstract.maskOf(EnumSet.of(PEPPER, ONION)));
+    }
+
+    @Test
+    public void testPlainPizza() {
+        NyPizza pizza = new NyPizza.Builder(LARGE).build();
+        assertTrue(pizza.getToppings().isEmpty());
+        assertEquals(0, pizza.toppingCount());
+        assertFalse(pizza.getToppings().iterator().hasNext());
+    }
+}
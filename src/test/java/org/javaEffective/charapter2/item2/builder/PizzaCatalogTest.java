@@ -0,0 +1,52 @@
+package org.javaEffective.charapter2.item2.builder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.javaEffective.charapter2.item2.builder.NyPizza.Size.*;
+import static org.javaEffective.charapter2.item2.builder.PizzaAbstract.Topping.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PizzaCatalogTest {
+    @Test
+    public void testSharedInstances() {
+        int mask = SAUSAGE.bit() | ONION.bit();
+        NyPizza pizza = PizzaCatalog.nyPizza(MEDIUM, mask);
+
+        assertSame(pizza, PizzaCatalog.nyPizza(MEDIUM, mask));
+        assertNotSame(pizza, PizzaCatalog.nyPizza(LARGE, mask));
+        assertEquals(MEDIUM, pizza.getSize());
+        assertEquals(EnumSet.of(SAUSAGE, ONION), pizza.getToppings());
+
+        Calzone calzone = PizzaCatalog.calzone(true, HAM.bit());
+        assertSame(calzone, PizzaCatalog.calzone(true, HAM.bit()));
+        assertTrue(calzone.isSauceInside());
+        assertFalse(PizzaCatalog.calzone(false, HAM.bit()).isSauceInside());
+        assertEquals(EnumSet.of(HAM), calzone.getToppings());
+    }
+
+    @Test
+    public void testEveryVariantMatchesBuilder() {
+        for (NyPizza.Size size : NyPizza.Size.values()) {
+            for (int mask = 0; mask < 32; mask++) {
+                NyPizza.Builder builder = new NyPizza.Builder(size);
+                for (PizzaAbstract.Topping topping : PizzaAbstract.Topping.values()) {
+                    if ((mask & topping.bit()) != 0) {
+                        builder.addTopping(topping);
+                    }
+                }
+                NyPizza built = builder.build();
+                NyPizza cached = PizzaCatalog.nyPizza(size, mask);
+                assertEquals(built.getSize(), cached.getSize());
+                assertEquals(built.getToppings(), cached.getToppings());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidMask() {
+        assertThrows(IllegalArgumentException.class, () -> PizzaCatalog.nyPizza(SMALL, 32));
+        assertThrows(IllegalArgumentException.class, () -> PizzaCatalog.calzone(false, -1));
+    }
+}
@@ -0,0 +1,29 @@
+package org.javaEffective.charapter2.item2.generated;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoffeeTest {
+    @Test
+    public void testGeneratedHierarchicalBuilder() {
+        Coffee coffee = new CoffeeBuilder("cortado", Coffee.Roast.DARK)
+                .calories(60)   // BeverageBuilder method, still returns CoffeeBuilder
+                .milk(true)
+                .shots(2)
+                .build();
+
+        assertEquals("cortado", coffee.getName());
+        assertEquals(60, coffee.getCalories());
+        assertEquals(0, coffee.getSugarGrams());
+        assertEquals(Coffee.Roast.DARK, coffee.getRoast());
+        assertEquals(2, coffee.getShots());
+        assertTrue(coffee.hasMilk());
+    }
+
+    @Test
+    public void testRequiredParametersAreChecked() {
+        assertThrows(NullPointerException.class, () -> new CoffeeBuilder(null, Coffee.Roast.LIGHT));
+        assertThrows(NullPointerException.class, () -> new CoffeeBuilder("espresso", null));
+    }
+}
@@ -0,0 +1,139 @@
+package org.javaEffective.charapter2.item2.processor;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuilderProcessorTest {
+    private static final String POINT = """
+            package demo;
+
+            import org.javaEffective.charapter2.item2.processor.GenerateBuilder;
+
+            @GenerateBuilder
+            public class Point {
+                private static int created;
+                @GenerateBuilder.Required
+                private final String label;
+                private final int x;
+                private final int y;
+
+                Point(PointBuilder builder) {
+                    label = builder.label;
+                    x = builder.x;
+                    y = builder.y;
+                    created++;
+                }
+
+                @Override
+                public String toString() {
+                    return label + "(" + x + "," + y + ")";
+                }
+            }
+            """;
+
+    private record Result(boolean success, String errors, Path output) {
+    }
+
+    private static Result compile(String... sources) throws IOException, URISyntaxException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> units = new ArrayList<>();
+        for (String source : sources) {
+            String name = source.replaceAll("(?s).*?public (abstract )?(class|interface) (\\w+).*", "$3");
+            units.add(new SimpleJavaFileObject(URI.create("string:///demo/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            });
+        }
+        Path output = Files.createTempDirectory("builder-processor");
+        String classpath = Path.of(GenerateBuilder.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+        List<String> options = List.of("-d", output.toString(),
+                "-s", output.toString(), "-classpath", classpath + File.pathSeparator + output);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, units);
+        task.setProcessors(List.of(new BuilderProcessor()));
+        boolean success = task.call();
+        String errors = diagnostics.getDiagnostics().stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(d -> d.getMessage(null))
+                .collect(Collectors.joining("\n"));
+        return new Result(success, errors, output);
+    }
+
+    @Test
+    public void testGeneratesSimpleBuilder() throws Exception {
+        Result result = compile(POINT);
+        assertTrue(result.success(), result.errors());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{result.output().toUri().toURL()},
+                GenerateBuilder.class.getClassLoader())) {
+            Class<?> builderClass = loader.loadClass("demo.PointBuilder");
+            Object builder = builderClass.getConstructor(String.class).newInstance("p");
+            builderClass.getMethod("x", int.class).invoke(builder, 3);
+            builderClass.getMethod("y", int.class).invoke(builder, 4);
+            Object point = builderClass.getMethod("build").invoke(builder);
+            assertEquals("p(3,4)", point.toString());
+            // Los campos estáticos no son parámetros del builder
+            assertThrows(NoSuchMethodException.class, () -> builderClass.getMethod("created", int.class));
+        }
+    }
+
+    @Test
+    public void testRejectsConcreteSuperclass() throws Exception {
+        String child = """
+                package demo;
+
+                import org.javaEffective.charapter2.item2.processor.GenerateBuilder;
+
+                @GenerateBuilder
+                public class Point3 extends Point {
+                    private final int z;
+
+                    Point3(Point3Builder builder) {
+                        super(null);
+                        z = builder.z;
+                    }
+                }
+                """;
+        Result result = compile(POINT, child);
+        assertFalse(result.success());
+        assertTrue(result.errors().contains("must be abstract"), result.errors());
+    }
+
+    @Test
+    public void testRejectsInterfaces() throws Exception {
+        String shape = """
+                package demo;
+
+                import org.javaEffective.charapter2.item2.processor.GenerateBuilder;
+
+                @GenerateBuilder
+                public interface Shape {
+                }
+                """;
+        Result result = compile(shape);
+        assertFalse(result.success());
+        assertTrue(result.errors().contains("only applies to classes"), result.errors());
+    }
+}
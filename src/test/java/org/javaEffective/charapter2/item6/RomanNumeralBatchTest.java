@@ -0,0 +1,52 @@
+package org.javaEffective.charapter2.item6;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RomanNumeralBatchTest {
+    @Test
+    public void testParseAllArrayAndStream() {
+        String[] numerals = IntStream.rangeClosed(1, 20_000)
+                .mapToObj(n -> n % 7 == 0 ? "IIII" : RomanNumeralParser.format(n))
+                .toArray(String[]::new);
+        int[] expected = IntStream.rangeClosed(1, 20_000)
+                .map(n -> n % 7 == 0 ? RomanNumeralBatch.INVALID : n)
+                .toArray();
+
+        assertArrayEquals(expected, RomanNumeralBatch.parseAll(numerals));
+        assertArrayEquals(expected, RomanNumeralBatch.parseAll(Arrays.stream(numerals)));
+    }
+
+    @Test
+    public void testParseFileAcrossChunks() throws IOException {
+        Path file = Files.createTempFile("roman", ".txt");
+        try {
+            StringBuilder content = new StringBuilder();
+            for (int n = 1; n <= 3999; n++) {
+                content.append(RomanNumeralParser.format(n)).append(n % 2 == 0 ? "\r\n" : "\n");
+            }
+            content.append("bogus\n\nXIV");
+            Files.writeString(file, content, StandardCharsets.US_ASCII);
+
+            int[] result = RomanNumeralBatch.parseFile(file, 100);
+
+            assertEquals(4002, result.length);
+            for (int n = 1; n <= 3999; n++) {
+                assertEquals(n, result[n - 1]);
+            }
+            assertEquals(RomanNumeralBatch.INVALID, result[3999]);
+            assertEquals(RomanNumeralBatch.INVALID, result[4000]);
+            assertEquals(14, result[4001]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
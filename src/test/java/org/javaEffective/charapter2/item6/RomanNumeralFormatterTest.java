@@ -0,0 +1,30 @@
+package org.javaEffective.charapter2.item6;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RomanNumeralFormatterTest {
+    @Test
+    public void testTableMatchesCanonicalForm() {
+        for (int n = RomanNumeralFormatter.MIN; n <= RomanNumeralFormatter.MAX; n++) {
+            assertEquals(RomanNumeralParser.formatCanonical(n), RomanNumeralFormatter.format(n));
+        }
+        assertSame(RomanNumeralFormatter.format(14), RomanNumeralFormatter.format(14));
+        assertSame("XIV", RomanNumeralFormatter.format(14));
+    }
+
+    @Test
+    public void testAppendTo() {
+        StringBuilder sb = new StringBuilder("year ");
+        RomanNumeralFormatter.appendTo(sb, 1976).append(',');
+        assertEquals("year MCMLXXVI,", sb.toString());
+    }
+
+    @Test
+    public void testOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> RomanNumeralFormatter.format(0));
+        assertThrows(IllegalArgumentException.class, () -> RomanNumeralFormatter.format(4000));
+        assertEquals("MMMM", RomanNumeralParser.format(4000));
+    }
+}
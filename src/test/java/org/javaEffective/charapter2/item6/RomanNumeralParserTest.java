@@ -0,0 +1,46 @@
+package org.javaEffective.charapter2.item6;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RomanNumeralParserTest {
+    private static final char[] ALPHABET = {'I', 'V', 'X', 'L', 'C', 'D', 'M', 'a'};
+
+    @Test
+    public void testAgreesWithRegexOracle() {
+        // todas las cadenas de hasta 6 símbolos, incluida la vacía
+        char[] buffer = new char[6];
+        for (int length = 0; length <= buffer.length; length++) {
+            int combinations = (int) Math.pow(ALPHABET.length, length);
+            for (int n = 0; n < combinations; n++) {
+                int k = n;
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = ALPHABET[k % ALPHABET.length];
+                    k /= ALPHABET.length;
+                }
+                String s = new String(buffer, 0, length);
+                assertEquals(RomanNumerals.isRomanNumeral(s), RomanNumeralParser.isRomanNumeral(s), s);
+            }
+        }
+    }
+
+    @Test
+    public void testFormatParseRoundTrip() {
+        for (int n = 1; n <= 3999; n++) {
+            String roman = RomanNumeralParser.format(n);
+            assertTrue(RomanNumerals.isRomanNumeral(roman), roman);
+            assertEquals(n, RomanNumeralParser.parse(roman));
+        }
+        assertEquals("MCMLXXVI", RomanNumeralParser.format(1976));
+        assertEquals(5000, RomanNumeralParser.parse("MMMMM"));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(NumberFormatException.class, () -> RomanNumeralParser.parse(""));
+        assertThrows(NumberFormatException.class, () -> RomanNumeralParser.parse("IIII"));
+        assertThrows(NumberFormatException.class, () -> RomanNumeralParser.parse("VX"));
+        assertThrows(IllegalArgumentException.class, () -> RomanNumeralParser.format(0));
+    }
+}
@@ -0,0 +1,71 @@
+package org.javaEffective.charapter2.item7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStackTest {
+    @Test
+    public void testLifoSingleThread() {
+        ConcurrentStack<String> stack = new ConcurrentStack<>();
+        stack.push("a");
+        stack.push("b");
+
+        assertEquals(2, stack.getSize());
+        assertEquals("b", stack.pop());
+        assertEquals("a", stack.pop());
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+
+    @Test
+    public void testNoElementLostUnderContention() throws InterruptedException, ExecutionException {
+        ConcurrentStack<Integer> stack = new ConcurrentStack<>(4);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            results.add(pool.submit(() -> {
+                start.await();
+                List<Integer> popped = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    stack.push(base + i);
+                    if (i % 2 == 1) {
+                        popped.add(stack.pop());
+                        popped.add(stack.pop());
+                    }
+                }
+                return popped;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Las comprobaciones van en este hilo: un fallo dentro de una tarea no haría fallar el test
+        Set<Integer> popped = new HashSet<>();
+        for (Future<List<Integer>> result : results) {
+            for (Integer value : result.get()) {
+                assertTrue(popped.add(value), "popped twice: " + value);
+            }
+        }
+        assertEquals(threads * perThread, popped.size());
+        assertEquals(0, stack.getSize());
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+}
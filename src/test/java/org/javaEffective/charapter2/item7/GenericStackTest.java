@@ -0,0 +1,54 @@
+package org.javaEffective.charapter2.item7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericStackTest {
+    @Test
+    public void testPushAllPopAllKeepsLifoOrder() {
+        GenericStack<Number> stack = new GenericStack<>();
+        List<Integer> integers = List.of(1, 2, 3);
+        stack.pushAll(integers);
+        stack.push(4.0);
+
+        List<Object> objects = new ArrayList<>();
+        stack.popAll(objects);
+
+        assertEquals(List.of(4.0, 3, 2, 1), objects);
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testShrinksAfterBurst() {
+        GenericStack<Integer> stack = new GenericStack<>();
+        for (int i = 0; i < 100_000; i++) {
+            stack.push(i);
+        }
+        assertTrue(stack.capacity() >= 100_000);
+
+        while (stack.getSize() > 10) {
+            stack.pop();
+        }
+
+        assertEquals(10, stack.getSize());
+        assertTrue(stack.capacity() < 64);
+        assertEquals(9, (int) stack.pop());
+    }
+
+    @Test
+    public void testNoShrinkWhenDisabled() {
+        GenericStack<Integer> stack = new GenericStack<>(16, 0);
+        for (int i = 0; i < 1000; i++) {
+            stack.push(i);
+        }
+        int capacity = stack.capacity();
+        while (!stack.isEmpty()) {
+            stack.pop();
+        }
+        assertEquals(capacity, stack.capacity());
+    }
+}
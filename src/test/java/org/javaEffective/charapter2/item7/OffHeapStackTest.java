@@ -0,0 +1,73 @@
+package org.javaEffective.charapter2.item7;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.EmptyStackException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStackTest {
+    @Test
+    public void testLongRecordsAcrossSegments() {
+        try (OffHeapStack stack = new OffHeapStack(Long.BYTES, 100)) {
+            for (long i = 0; i < 1_000; i++) {
+                stack.pushLong(i);
+            }
+            assertEquals(1_000, stack.getSize());
+            assertEquals(10, stack.segmentCount());
+
+            for (long i = 999; i >= 0; i--) {
+                assertEquals(i, stack.popLong());
+            }
+            assertEquals(0, stack.getSize());
+            assertEquals(1, stack.segmentCount());
+            assertThrows(EmptyStackException.class, stack::popLong);
+        }
+    }
+
+    @Test
+    public void testFixedWidthRecords() {
+        try (OffHeapStack stack = new OffHeapStack(12, 4)) {
+            ByteBuffer record = ByteBuffer.allocate(12);
+            for (int i = 0; i < 10; i++) {
+                record.clear();
+                record.putInt(i).putLong(i * 10L).flip();
+                stack.push(record);
+            }
+
+            ByteBuffer out = ByteBuffer.allocate(12);
+            for (int i = 9; i >= 0; i--) {
+                out.clear();
+                stack.pop(out);
+                out.flip();
+                assertEquals(i, out.getInt());
+                assertEquals(i * 10L, out.getLong());
+            }
+        }
+    }
+
+    @Test
+    public void testClosedStackRejectsOperations() {
+        OffHeapStack stack = new OffHeapStack(Integer.BYTES);
+        stack.pushInt(1);
+        stack.close();
+
+        assertEquals(0, stack.getSize());
+        assertThrows(IllegalStateException.class, () -> stack.pushInt(2));
+        assertThrows(IllegalStateException.class, stack::popInt);
+    }
+
+    @Test
+    public void testFailedPopKeepsRecord() {
+        try (OffHeapStack stack = new OffHeapStack(Long.BYTES, 4)) {
+            stack.pushLong(42);
+            ByteBuffer readOnly = ByteBuffer.allocate(Long.BYTES).asReadOnlyBuffer();
+
+            assertThrows(ReadOnlyBufferException.class, () -> stack.pop(readOnly));
+            assertEquals(1, stack.getSize());
+            assertEquals(42, stack.popLong());
+        }
+    }
+}
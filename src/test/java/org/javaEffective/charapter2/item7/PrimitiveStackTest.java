@@ -0,0 +1,50 @@
+package org.javaEffective.charapter2.item7;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EmptyStackException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveStackTest {
+    @Test
+    public void testIntStackLifo() {
+        IntStack stack = new IntStack();
+
+        for (int i = 0; i < 500; i++) {
+            stack.push(i);
+        }
+
+        assertEquals(500, stack.getSize());
+
+        for (int i = 499; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+
+        assertEquals(0, stack.getSize());
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+
+    @Test
+    public void testLongStackLifo() {
+        LongStack stack = new LongStack();
+        stack.push(Long.MAX_VALUE);
+        stack.push(Long.MIN_VALUE);
+
+        assertEquals(Long.MIN_VALUE, stack.pop());
+        assertEquals(Long.MAX_VALUE, stack.pop());
+        assertThrows(EmptyStackException.class, stack::pop);
+    }
+
+    @Test
+    public void testDoubleStackLifo() {
+        DoubleStack stack = new DoubleStack();
+        stack.push(1.5);
+        stack.push(Double.NaN);
+
+        assertEquals(2, stack.getSize());
+        assertTrue(Double.isNaN(stack.pop()));
+        assertEquals(1.5, stack.pop());
+        assertEquals(0, stack.getSize());
+    }
+}
@@ -0,0 +1,57 @@
+package org.javaEffective.charapter3.item10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaseInsensitiveMapTest {
+    @Test
+    public void testLookupIgnoresCase() {
+        CaseInsensitiveMap<Integer> map = new CaseInsensitiveMap<>();
+        assertNull(map.put("Content-Type", 1));
+        assertEquals(Integer.valueOf(1), map.put("CONTENT-TYPE", 2));
+
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(2), map.get("content-type"));
+        assertEquals(Integer.valueOf(2), map.get(new StringBuilder("Content-TYPE")));
+        assertTrue(map.containsKey("cOnTeNt-TyPe"));
+        assertFalse(map.containsKey("Content-Length"));
+
+        StringBuilder key = new StringBuilder();
+        map.forEach((k, v) -> key.append(k));
+        assertEquals("Content-Type", key.toString());
+    }
+
+    @Test
+    public void testAgreesWithHashMapOfCaseInsensitiveString() {
+        CaseInsensitiveMap<Integer> map = new CaseInsensitiveMap<>();
+        Map<CaseInsensitiveString, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String key = randomKey(random);
+            CaseInsensitiveString cis = new CaseInsensitiveString(key);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(reference.put(cis, i), map.put(key, i));
+                case 1 -> assertEquals(reference.remove(cis), map.remove(key));
+                default -> assertEquals(reference.get(cis), map.get(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("a"));
+    }
+
+    private static String randomKey(Random random) {
+        char[] chars = new char[1 + random.nextInt(3)];
+        for (int i = 0; i < chars.length; i++) {
+            char c = (char) ('a' + random.nextInt(8));
+            chars[i] = random.nextBoolean() ? Character.toUpperCase(c) : c;
+        }
+        return new String(chars);
+    }
+}
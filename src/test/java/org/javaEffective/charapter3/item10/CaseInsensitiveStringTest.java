@@ -1,9 +1,11 @@
 package org.javaEffective.charapter3.item10;
 
-import org.junit.Test;
+import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,8 +26,35 @@ public class CaseInsensitiveStringTest {
         assertTrue(cis.equals(cis2));
     }
 
+    @Test
+    public void hashCode_shouldBeConsistentWithEquals() {
+        String[][] pairs = {{"Polish", "pOLISH"}, {"straße", "STRAßE"}, {"\u212A", "k"}, {"ı", "I"}, {"", ""}};
+        for (String[] pair : pairs) {
+            CaseInsensitiveString a = new CaseInsensitiveString(pair[0]);
+            CaseInsensitiveString b = new CaseInsensitiveString(pair[1]);
+            assertEquals(a, b);
+            assertEquals(a.hashCode(), b.hashCode());
+            assertEquals(0, a.compareTo(b));
+        }
+    }
 
+    @Test
+    public void hashMap_shouldFindKeyRegardlessOfCase() {
+        Map<CaseInsensitiveString, Integer> map = new HashMap<>();
+        map.put(new CaseInsensitiveString("Content-Type"), 1);
+        assertEquals(Integer.valueOf(1), map.get(new CaseInsensitiveString("content-type")));
+        assertNull(map.get(new CaseInsensitiveString("content-length")));
+    }
 
-
-
-}
\ No newline at end of file
+    @Test
+    public void compareTo_shouldMatchCaseInsensitiveOrder() {
+        List<String> words = List.of("apple", "Banana", "apricot", "ÁRBOL", "árbol", "Zeta", "b", "");
+        for (String x : words) {
+            for (String y : words) {
+                int expected = Integer.signum(String.CASE_INSENSITIVE_ORDER.compare(x, y));
+                int actual = Integer.signum(new CaseInsensitiveString(x).compareTo(new CaseInsensitiveString(y)));
+                assertEquals(expected, actual);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.javaEffective.charapter3.item10;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeakInternerTest {
+    @Test
+    public void intern_shouldReturnFirstEqualInstance() {
+        WeakInterner<String> interner = new WeakInterner<>();
+        String first = new String("token");
+        String second = new String("token");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertEquals(1, interner.size());
+        assertSame(first, interner.intern(first));
+    }
+
+    @Test
+    public void intern_shouldKeepDistinctValuesApart() {
+        WeakInterner<String> interner = new WeakInterner<>();
+        String a = interner.intern("a");
+        String b = interner.intern("b");
+
+        assertNotSame(a, b);
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void of_shouldReturnCanonicalInstance() {
+        CaseInsensitiveString first = CaseInsensitiveString.of("Accept-Encoding");
+        CaseInsensitiveString second = CaseInsensitiveString.of("ACCEPT-ENCODING");
+
+        assertSame(first, second);
+        assertEquals("Accept-Encoding", second.toString());
+        assertNotSame(first, CaseInsensitiveString.of("Accept"));
+        assertNotSame(first, new CaseInsensitiveString("accept-encoding"));
+    }
+}